@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.benchmarks;
+
+import io.jaegertracing.internal.JaegerSpanContext;
+import io.jaegertracing.internal.propagation.B3TextMapCodec;
+import io.opentracing.propagation.TextMapAdapter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link B3TextMapCodec#extract} of a 128 bit trace id context sent either in the {@code X-B3-*} headers
+ * or in the single {@code b3} header, as an Envoy sidecar would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class B3ExtractBenchmark {
+
+  @Param({"true", "false"})
+  public boolean singleHeader;
+
+  private final B3TextMapCodec codec = new B3TextMapCodec.Builder().build();
+  private TextMapAdapter carrier;
+
+  @Setup
+  public void setUp() {
+    Map<String, String> headers = new LinkedHashMap<String, String>();
+    if (singleHeader) {
+      headers.put("b3", "463ac35c9f6413ad48485a3953bb6124-a2fb4a1d1a96d312-1-0020000000000001");
+    } else {
+      headers.put("X-B3-TraceId", "463ac35c9f6413ad48485a3953bb6124");
+      headers.put("X-B3-SpanId", "a2fb4a1d1a96d312");
+      headers.put("X-B3-ParentSpanId", "0020000000000001");
+      headers.put("X-B3-Sampled", "1");
+    }
+    carrier = new TextMapAdapter(headers);
+  }
+
+  @Benchmark
+  public JaegerSpanContext extract() {
+    return codec.extract(carrier);
+  }
+}
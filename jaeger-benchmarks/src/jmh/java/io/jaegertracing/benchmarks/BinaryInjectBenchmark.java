@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.benchmarks;
+
+import io.jaegertracing.internal.JaegerSpanContext;
+import io.jaegertracing.internal.propagation.BinaryCodec;
+import io.opentracing.propagation.Binary;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BinaryCodec#inject}, like a producer propagating the context of each message it sends. The
+ * carrier reuses its buffer, so only the work of the codec is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryInjectBenchmark {
+
+  @Param({"0", "3"})
+  public int baggageItems;
+
+  private final BinaryCodec codec = new BinaryCodec();
+  private JaegerSpanContext context;
+  private ReusedBufferCarrier carrier;
+
+  @Setup
+  public void setUp() {
+    context = new JaegerSpanContext(0x3f9a8d2b1c4e5f60L, 0xa1b2c3d4e5f60718L, 0x1b2c3d4e5f607182L,
+        0x2c3d4e5f60718293L, (byte) 1);
+    for (int i = 0; i < baggageItems; i++) {
+      context = context.withBaggageItem("key-" + i, "value-\u00e9-" + i); // e-acute is encoded in 2 bytes
+    }
+    carrier = new ReusedBufferCarrier();
+  }
+
+  @Benchmark
+  public ByteBuffer inject() {
+    codec.inject(context, carrier);
+    return carrier.buffer;
+  }
+
+  private static class ReusedBufferCarrier implements Binary {
+    private final ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+    @Override
+    public ByteBuffer injectionBuffer(int length) {
+      buffer.clear();
+      buffer.limit(length);
+      return buffer;
+    }
+
+    @Override
+    public ByteBuffer extractionBuffer() {
+      return buffer;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.benchmarks;
+
+import io.jaegertracing.internal.clock.Clock;
+import io.jaegertracing.internal.clock.SystemClock;
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of reading the wall clock for span timestamps. On Java 9 and above
+ * {@link SystemClock} delegates to the microseconds accurate clock, {@code reflective} reproduces
+ * the former reflection based lookup of {@code Instant.now()} as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClockBenchmark {
+
+  private Clock systemClock;
+  private Method now;
+  private Method between;
+
+  @Setup
+  public void setUp() throws NoSuchMethodException {
+    systemClock = new SystemClock();
+    now = Instant.class.getMethod("now");
+    between = ChronoUnit.class.getMethod("between", Temporal.class, Temporal.class);
+  }
+
+  @Benchmark
+  public long systemClock() {
+    return systemClock.currentTimeMicros();
+  }
+
+  @Benchmark
+  public long reflective() throws Exception {
+    return (Long) between.invoke(ChronoUnit.MICROS, Instant.EPOCH, now.invoke(null));
+  }
+
+  @Benchmark
+  public long currentTimeMillis() {
+    return System.currentTimeMillis() * 1000;
+  }
+}
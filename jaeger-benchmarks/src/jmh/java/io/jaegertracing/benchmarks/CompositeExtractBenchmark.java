@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.benchmarks;
+
+import io.jaegertracing.internal.JaegerSpanContext;
+import io.jaegertracing.internal.propagation.B3TextMapCodec;
+import io.jaegertracing.internal.propagation.CompositeCodec;
+import io.jaegertracing.internal.propagation.TextMapCodec;
+import io.jaegertracing.internal.propagation.TraceContextCodec;
+import io.jaegertracing.spi.Codec;
+import io.opentracing.propagation.TextMap;
+import io.opentracing.propagation.TextMapAdapter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures extracting with the codecs of {@code JAEGER_PROPAGATION=jaeger,b3,w3c} from the headers of a typical
+ * request, carrying the context in one of the formats.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompositeExtractBenchmark {
+
+  @Param({"jaeger", "b3", "w3c"})
+  public String format;
+
+  private final CompositeCodec<TextMap> codec = new CompositeCodec<TextMap>(Arrays.<Codec<TextMap>>asList(
+      new TextMapCodec(true), new B3TextMapCodec.Builder().build(), new TraceContextCodec.Builder().build()));
+  private TextMapAdapter carrier;
+
+  @Setup
+  public void setUp() {
+    Map<String, String> headers = new LinkedHashMap<String, String>();
+    for (int i = 0; i < 20; i++) {
+      headers.put("X-Forwarded-Header-" + i, "value-" + i);
+    }
+    if ("jaeger".equals(format)) {
+      headers.put("Uber-Trace-Id", "3f9a8d2b1c4e5f60a1b2c3d4e5f60718:a1b2c3d4e5f60718:0:1");
+    } else if ("b3".equals(format)) {
+      headers.put("X-B3-TraceId", "3f9a8d2b1c4e5f60a1b2c3d4e5f60718");
+      headers.put("X-B3-SpanId", "a1b2c3d4e5f60718");
+      headers.put("X-B3-Sampled", "1");
+    } else {
+      headers.put("traceparent", "00-3f9a8d2b1c4e5f60a1b2c3d4e5f60718-a1b2c3d4e5f60718-01");
+    }
+    carrier = new TextMapAdapter(headers);
+  }
+
+  @Benchmark
+  public JaegerSpanContext extract() {
+    return codec.extract(carrier);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.benchmarks;
+
+import io.jaegertracing.internal.JaegerSpan;
+import io.jaegertracing.internal.JaegerTracer;
+import io.jaegertracing.internal.reporters.NoopReporter;
+import io.jaegertracing.internal.reporters.RemoteReporter;
+import io.jaegertracing.internal.samplers.ConstSampler;
+import io.jaegertracing.internal.senders.NoopSender;
+import io.jaegertracing.spi.Reporter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of a span from {@code buildSpan().start()} through {@code setTag}/{@code log} to
+ * {@code finish()}, including the hand-off to the {@link Reporter}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpanLifecycleBenchmark {
+
+  @Param({"true", "false"})
+  public boolean sampled;
+
+  @Param({"0", "5", "20"})
+  public int tagCount;
+
+  @Param({"0", "5"})
+  public int logCount;
+
+  /**
+   * {@code noop} isolates the tracer itself, {@code remote} adds the {@link RemoteReporter} queue
+   * hand-off with a sender that drops everything, {@code ring} does the same with the ring buffer.
+   */
+  @Param({"noop", "remote", "ring"})
+  public String reporterType;
+
+  private JaegerTracer tracer;
+  private JaegerSpan parent;
+  private String[] tagKeys;
+  private String[] logEvents;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Reporter reporter;
+    if ("remote".equals(reporterType)) {
+      reporter = new RemoteReporter.Builder()
+          .withSender(new NoopSender())
+          .withMaxQueueSize(10000)
+          .build();
+    } else if ("ring".equals(reporterType)) {
+      reporter = new RemoteReporter.Builder()
+          .withSender(new NoopSender())
+          .withMaxQueueSize(10000)
+          .withRingBuffer()
+          .build();
+    } else {
+      reporter = new NoopReporter();
+    }
+
+    tracer = new JaegerTracer.Builder("benchmark")
+        .withSampler(new ConstSampler(sampled))
+        .withReporter(reporter)
+        .withManualShutdown()
+        .build();
+    parent = tracer.buildSpan("parent").ignoreActiveSpan().start();
+
+    tagKeys = new String[tagCount];
+    for (int i = 0; i < tagCount; i++) {
+      tagKeys[i] = "tag-" + i;
+    }
+    logEvents = new String[logCount];
+    for (int i = 0; i < logCount; i++) {
+      logEvents[i] = "event-" + i;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    parent.finish();
+    tracer.close();
+  }
+
+  @Benchmark
+  public JaegerSpan rootSpan() {
+    JaegerSpan span = tracer.buildSpan("root").ignoreActiveSpan().start();
+    return decorateAndFinish(span);
+  }
+
+  @Benchmark
+  public JaegerSpan childSpan() {
+    JaegerSpan span = tracer.buildSpan("child").ignoreActiveSpan().asChildOf(parent).start();
+    return decorateAndFinish(span);
+  }
+
+  private JaegerSpan decorateAndFinish(JaegerSpan span) {
+    for (int i = 0; i < tagKeys.length; i++) {
+      span.setTag(tagKeys[i], i);
+    }
+    for (int i = 0; i < logEvents.length; i++) {
+      span.log(logEvents[i]);
+    }
+    span.finish();
+    return span;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.benchmarks;
+
+import io.jaegertracing.internal.JaegerSpanContext;
+import io.jaegertracing.internal.propagation.TextMapCodec;
+import io.opentracing.propagation.TextMapAdapter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link TextMapCodec#extract} from a carrier holding the tracing headers among the headers of a typical
+ * request passing through an edge proxy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextMapExtractBenchmark {
+
+  @Param({"true", "false"})
+  public boolean urlEncoding;
+
+  /**
+   * The number of other headers in the carrier.
+   */
+  @Param({"0", "40"})
+  public int otherHeaders;
+
+  private TextMapCodec codec;
+  private TextMapAdapter carrier;
+
+  @Setup
+  public void setUp() {
+    codec = TextMapCodec.builder().withUrlEncoding(urlEncoding).build();
+    Map<String, String> headers = new LinkedHashMap<String, String>();
+    for (int i = 0; i < otherHeaders; i++) {
+      headers.put("X-Forwarded-Header-" + i, "value-" + i);
+    }
+    headers.put("Uber-Trace-Id", "3f9a8d2b1c4e5f60a1b2c3d4e5f60718:a1b2c3d4e5f60718:0:1");
+    headers.put("uberctx-tenant", "acme");
+    headers.put("Uberctx-Region", "eu-west-1");
+    headers.put("jaeger-baggage", "k1=v1, k2 = v2");
+    carrier = new TextMapAdapter(headers);
+  }
+
+  @Benchmark
+  public JaegerSpanContext extract() {
+    return codec.extract(carrier);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.benchmarks;
+
+import io.jaegertracing.internal.JaegerSpanContext;
+import io.jaegertracing.internal.propagation.TextMapCodec;
+import io.jaegertracing.internal.propagation.TraceContextCodec;
+import io.opentracing.propagation.TextMapAdapter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures injecting the same span context again, like a service calling several downstream services from one
+ * span. The carrier is reused, so only the work of the codec is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextMapInjectBenchmark {
+
+  @Param({"0", "3"})
+  public int baggageItems;
+
+  private final TextMapCodec textMapCodec = TextMapCodec.builder().build();
+  private final TraceContextCodec traceContextCodec = new TraceContextCodec.Builder().build();
+  private JaegerSpanContext context;
+  private TextMapAdapter carrier;
+
+  @Setup
+  public void setUp() {
+    context = new JaegerSpanContext(0x3f9a8d2b1c4e5f60L, 0xa1b2c3d4e5f60718L, 0x1b2c3d4e5f607182L,
+        0x2c3d4e5f60718293L, (byte) 1);
+    for (int i = 0; i < baggageItems; i++) {
+      context = context.withBaggageItem("key-" + i, "value-" + i);
+    }
+    carrier = new TextMapAdapter(new HashMap<String, String>());
+  }
+
+  @Benchmark
+  public Map<String, String> injectTextMap() {
+    textMapCodec.inject(context, carrier);
+    return null;
+  }
+
+  @Benchmark
+  public Map<String, String> injectTraceContext() {
+    traceContextCodec.inject(context, carrier);
+    return null;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.benchmarks;
+
+import io.jaegertracing.internal.JaegerSpanContext;
+import io.jaegertracing.internal.propagation.TraceContextCodec;
+import io.opentracing.propagation.TextMapAdapter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a service extracting a W3C trace context from an ingress request and forwarding it, with the
+ * {@code tracestate} of two upstream vendors and the {@code baggage} it received, to a downstream service.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TraceContextBenchmark {
+
+  private final TraceContextCodec codec = new TraceContextCodec.Builder().build();
+  private TextMapAdapter ingress;
+  private TextMapAdapter egress;
+
+  @Setup
+  public void setUp() {
+    Map<String, String> headers = new LinkedHashMap<String, String>();
+    headers.put("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+    headers.put("tracestate", "rojo=00f067aa0ba902b7,congo=t61rcWkgMzE");
+    headers.put("baggage", "userId=alice,serverNode=DF%2028,isProduction=false");
+    ingress = new TextMapAdapter(headers);
+    egress = new TextMapAdapter(new HashMap<String, String>());
+  }
+
+  @Benchmark
+  public JaegerSpanContext extract() {
+    return codec.extract(ingress);
+  }
+
+  @Benchmark
+  public JaegerSpanContext extractAndInject() {
+    JaegerSpanContext context = codec.extract(ingress);
+    codec.inject(context, egress);
+    return context;
+  }
+}
@@ -26,6 +26,7 @@ import io.jaegertracing.internal.propagation.TraceContextCodec;
 import io.jaegertracing.internal.reporters.CompositeReporter;
 import io.jaegertracing.internal.reporters.LoggingReporter;
 import io.jaegertracing.internal.reporters.RemoteReporter;
+import io.jaegertracing.internal.reporters.ShardedReporter;
 import io.jaegertracing.internal.samplers.ConstSampler;
 import io.jaegertracing.internal.samplers.HttpSamplingManager;
 import io.jaegertracing.internal.samplers.ProbabilisticSampler;
@@ -41,6 +42,7 @@ import io.jaegertracing.spi.SenderFactory;
 import io.opentracing.propagation.Binary;
 import io.opentracing.propagation.Format;
 import io.opentracing.propagation.TextMap;
+import java.io.File;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.Arrays;
@@ -86,6 +88,11 @@ public class Configuration {
    */
   public static final String JAEGER_PASSWORD = JAEGER_PREFIX + "PASSWORD";
 
+  /**
+   * The compression of the requests sent to the endpoint, only "gzip" is supported
+   */
+  public static final String JAEGER_ENDPOINT_COMPRESSION = JAEGER_PREFIX + "ENDPOINT_COMPRESSION";
+
   /**
    * The host name used to locate the agent.
    */
@@ -106,11 +113,52 @@ public class Configuration {
    */
   public static final String JAEGER_REPORTER_MAX_QUEUE_SIZE = JAEGER_PREFIX + "REPORTER_MAX_QUEUE_SIZE";
 
+  /**
+   * The maximum estimated heap in bytes retained by the spans in the reporter's queue.
+   */
+  public static final String JAEGER_REPORTER_MAX_QUEUE_BYTES = JAEGER_PREFIX + "REPORTER_MAX_QUEUE_BYTES";
+
+  /**
+   * The capacity of the reporter's queue reserved for debug spans and spans tagged as errors.
+   */
+  public static final String JAEGER_REPORTER_PRIORITY_QUEUE_SIZE = JAEGER_PREFIX + "REPORTER_PRIORITY_QUEUE_SIZE";
+
   /**
    * The flush interval when reporting spans remotely.
    */
   public static final String JAEGER_REPORTER_FLUSH_INTERVAL = JAEGER_PREFIX + "REPORTER_FLUSH_INTERVAL";
 
+  /**
+   * Whether the remote reporter should flush once the oldest buffered span waited for the flush interval, instead
+   * of every flush interval.
+   */
+  public static final String JAEGER_REPORTER_ADAPTIVE_FLUSH = JAEGER_PREFIX + "REPORTER_ADAPTIVE_FLUSH";
+
+  /**
+   * Whether the remote reporter should buffer spans in a lock-free ring buffer.
+   */
+  public static final String JAEGER_REPORTER_RING_BUFFER = JAEGER_PREFIX + "REPORTER_RING_BUFFER";
+
+  /**
+   * Whether the remote reporter should encode spans on the threads finishing them and queue only the bytes.
+   */
+  public static final String JAEGER_REPORTER_PRE_ENCODING = JAEGER_PREFIX + "REPORTER_PRE_ENCODING";
+
+  /**
+   * The number of lanes, each with its own queue, thread and sender, the remote reporter spreads spans over.
+   */
+  public static final String JAEGER_REPORTER_LANES = JAEGER_PREFIX + "REPORTER_LANES";
+
+  /**
+   * The file the remote reporter spills failed batches to, spilling is disabled if not set.
+   */
+  public static final String JAEGER_REPORTER_SPILL_PATH = JAEGER_PREFIX + "REPORTER_SPILL_PATH";
+
+  /**
+   * The maximum size of the spill file in bytes.
+   */
+  public static final String JAEGER_REPORTER_SPILL_MAX_BYTES = JAEGER_PREFIX + "REPORTER_SPILL_MAX_BYTES";
+
   /**
    * The sampler type.
    */
@@ -554,6 +602,14 @@ public class Configuration {
     private Boolean logSpans;
     private Integer flushIntervalMs;
     private Integer maxQueueSize;
+    private Integer maxQueueBytes;
+    private Integer priorityQueueSize;
+    private Boolean ringBuffer;
+    private Boolean preEncoding;
+    private Boolean adaptiveFlush;
+    private Integer lanes;
+    private String spillPath;
+    private Integer spillMaxBytes;
     private SenderConfiguration senderConfiguration = new SenderConfiguration();
 
     public ReporterConfiguration() {
@@ -564,6 +620,14 @@ public class Configuration {
           .withLogSpans(getPropertyAsBool(JAEGER_REPORTER_LOG_SPANS))
           .withFlushInterval(getPropertyAsInt(JAEGER_REPORTER_FLUSH_INTERVAL))
           .withMaxQueueSize(getPropertyAsInt(JAEGER_REPORTER_MAX_QUEUE_SIZE))
+          .withMaxQueueBytes(getPropertyAsInt(JAEGER_REPORTER_MAX_QUEUE_BYTES))
+          .withPriorityQueueSize(getPropertyAsInt(JAEGER_REPORTER_PRIORITY_QUEUE_SIZE))
+          .withRingBuffer(getPropertyAsBool(JAEGER_REPORTER_RING_BUFFER))
+          .withPreEncoding(getPropertyAsBool(JAEGER_REPORTER_PRE_ENCODING))
+          .withAdaptiveFlush(getPropertyAsBool(JAEGER_REPORTER_ADAPTIVE_FLUSH))
+          .withLanes(getPropertyAsInt(JAEGER_REPORTER_LANES))
+          .withSpillPath(getProperty(JAEGER_REPORTER_SPILL_PATH))
+          .withSpillMaxBytes(getPropertyAsInt(JAEGER_REPORTER_SPILL_MAX_BYTES))
           .withSender(SenderConfiguration.fromEnv());
     }
 
@@ -582,18 +646,71 @@ public class Configuration {
       return this;
     }
 
+    public ReporterConfiguration withMaxQueueBytes(Integer maxQueueBytes) {
+      this.maxQueueBytes = maxQueueBytes;
+      return this;
+    }
+
+    public ReporterConfiguration withPriorityQueueSize(Integer priorityQueueSize) {
+      this.priorityQueueSize = priorityQueueSize;
+      return this;
+    }
+
+    public ReporterConfiguration withRingBuffer(Boolean ringBuffer) {
+      this.ringBuffer = ringBuffer;
+      return this;
+    }
+
+    public ReporterConfiguration withPreEncoding(Boolean preEncoding) {
+      this.preEncoding = preEncoding;
+      return this;
+    }
+
+    public ReporterConfiguration withAdaptiveFlush(Boolean adaptiveFlush) {
+      this.adaptiveFlush = adaptiveFlush;
+      return this;
+    }
+
+    /**
+     * Spreads the spans over the given number of lanes, each with its own queue, queue processor thread and
+     * sender. Spans are routed by trace id. The max queue size and bytes and the spill size are split evenly
+     * between the lanes, each lane spills to the spill path suffixed with the lane number.
+     *
+     * @param lanes the number of lanes, 1 if not set
+     * @return this instance of the configuration
+     */
+    public ReporterConfiguration withLanes(Integer lanes) {
+      this.lanes = lanes;
+      return this;
+    }
+
+    public ReporterConfiguration withSpillPath(String spillPath) {
+      this.spillPath = spillPath;
+      return this;
+    }
+
+    public ReporterConfiguration withSpillMaxBytes(Integer spillMaxBytes) {
+      this.spillMaxBytes = spillMaxBytes;
+      return this;
+    }
+
     public ReporterConfiguration withSender(SenderConfiguration senderConfiguration) {
       this.senderConfiguration = senderConfiguration;
       return this;
     }
 
     private Reporter getReporter(Metrics metrics) {
-      Reporter reporter = new RemoteReporter.Builder()
-          .withMetrics(metrics)
-          .withSender(senderConfiguration.getSender())
-          .withFlushInterval(numberOrDefault(this.flushIntervalMs, RemoteReporter.DEFAULT_FLUSH_INTERVAL_MS).intValue())
-          .withMaxQueueSize(numberOrDefault(this.maxQueueSize, RemoteReporter.DEFAULT_MAX_QUEUE_SIZE).intValue())
-          .build();
+      int laneCount = Math.max(1, numberOrDefault(this.lanes, 1).intValue());
+      Reporter reporter;
+      if (laneCount == 1) {
+        reporter = getRemoteReporter(metrics, 1, null);
+      } else {
+        RemoteReporter[] remoteReporters = new RemoteReporter[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+          remoteReporters[i] = getRemoteReporter(metrics, laneCount, "." + i);
+        }
+        reporter = new ShardedReporter(remoteReporters);
+      }
 
       if (Boolean.TRUE.equals(this.logSpans)) {
         Reporter loggingReporter = new LoggingReporter();
@@ -602,6 +719,37 @@ public class Configuration {
       return reporter;
     }
 
+    private RemoteReporter getRemoteReporter(Metrics metrics, int laneCount, String spillSuffix) {
+      RemoteReporter.Builder builder = new RemoteReporter.Builder()
+          .withMetrics(metrics)
+          .withSender(senderConfiguration.getSender())
+          .withFlushInterval(numberOrDefault(this.flushIntervalMs, RemoteReporter.DEFAULT_FLUSH_INTERVAL_MS).intValue())
+          .withMaxQueueSize(perLane(numberOrDefault(this.maxQueueSize, RemoteReporter.DEFAULT_MAX_QUEUE_SIZE),
+              laneCount))
+          .withMaxQueueBytes(perLane(numberOrDefault(this.maxQueueBytes, 0), laneCount));
+      if (this.priorityQueueSize != null) {
+        builder.withPriorityQueueSize(perLane(this.priorityQueueSize, laneCount));
+      }
+      if (Boolean.TRUE.equals(this.ringBuffer)) {
+        builder.withRingBuffer();
+      }
+      if (Boolean.TRUE.equals(this.preEncoding)) {
+        builder.withPreEncoding();
+      }
+      if (Boolean.TRUE.equals(this.adaptiveFlush)) {
+        builder.withAdaptiveFlush();
+      }
+      if (this.spillPath != null && !this.spillPath.isEmpty()) {
+        builder.withSpillFile(new File(spillSuffix == null ? this.spillPath : this.spillPath + spillSuffix),
+            perLane(numberOrDefault(this.spillMaxBytes, RemoteReporter.DEFAULT_SPILL_MAX_BYTES), laneCount));
+      }
+      return builder.build();
+    }
+
+    private static int perLane(Number total, int laneCount) {
+      return (total.intValue() + laneCount - 1) / laneCount;
+    }
+
     public Boolean getLogSpans() {
       return logSpans;
     }
@@ -614,6 +762,38 @@ public class Configuration {
       return maxQueueSize;
     }
 
+    public Integer getMaxQueueBytes() {
+      return maxQueueBytes;
+    }
+
+    public Integer getPriorityQueueSize() {
+      return priorityQueueSize;
+    }
+
+    public Boolean getRingBuffer() {
+      return ringBuffer;
+    }
+
+    public Boolean getPreEncoding() {
+      return preEncoding;
+    }
+
+    public Boolean getAdaptiveFlush() {
+      return adaptiveFlush;
+    }
+
+    public Integer getLanes() {
+      return lanes;
+    }
+
+    public String getSpillPath() {
+      return spillPath;
+    }
+
+    public Integer getSpillMaxBytes() {
+      return spillMaxBytes;
+    }
+
     public SenderConfiguration getSenderConfiguration() {
       return senderConfiguration;
     }
@@ -655,6 +835,11 @@ public class Configuration {
      */
     private String authPassword;
 
+    /**
+     * The compression of the requests sent to the endpoint, like "gzip". Optional.
+     */
+    private String endpointCompression;
+
     public SenderConfiguration() {
     }
 
@@ -688,6 +873,11 @@ public class Configuration {
       return this;
     }
 
+    public SenderConfiguration withEndpointCompression(String endpointCompression) {
+      this.endpointCompression = endpointCompression;
+      return this;
+    }
+
     /**
      * Returns a sender based on the configuration's state.
      * @return the sender passed via the constructor or a properly configured sender
@@ -708,6 +898,7 @@ public class Configuration {
       String authToken = getProperty(JAEGER_AUTH_TOKEN);
       String authUsername = getProperty(JAEGER_USER);
       String authPassword = getProperty(JAEGER_PASSWORD);
+      String endpointCompression = getProperty(JAEGER_ENDPOINT_COMPRESSION);
 
       return new SenderConfiguration()
               .withAgentHost(agentHost)
@@ -715,7 +906,8 @@ public class Configuration {
               .withEndpoint(collectorEndpoint)
               .withAuthToken(authToken)
               .withAuthUsername(authUsername)
-              .withAuthPassword(authPassword);
+              .withAuthPassword(authPassword)
+              .withEndpointCompression(endpointCompression);
     }
   }
 
@@ -36,6 +36,11 @@ import java.util.Map;
  * }</pre>
  */
 public class JaegerObjectFactory {
+  /**
+   * Creates the span started by {@link JaegerTracer.SpanBuilder#start()}. Spans of unsampled traces get a
+   * lightweight implementation which ignores tags and logs until the trace is sampled through
+   * {@link io.opentracing.tag.Tags#SAMPLING_PRIORITY}.
+   */
   public JaegerSpan createSpan(
       JaegerTracer tracer,
       String operationName,
@@ -45,6 +50,17 @@ public class JaegerObjectFactory {
       boolean computeDurationViaNanoTicks,
       Map<String, Object> tags,
       List<Reference> references) {
+    if (!context.isSampled()) {
+      return new UnsampledJaegerSpan(
+          tracer,
+          operationName,
+          context,
+          startTimeMicroseconds,
+          startTimeNanoTicks,
+          computeDurationViaNanoTicks,
+          tags,
+          references);
+    }
     return new JaegerSpan(
         tracer,
         operationName,
@@ -46,7 +46,8 @@ public class JaegerSpan implements Span {
   private final long startTimeMicroseconds;
   private final long startTimeNanoTicks;
   private final boolean computeDurationViaNanoTicks;
-  private final Map<String, Object> tags;
+  // allocated by the first tag recorded on a sampled span, guarded by this span for writes
+  private volatile Map<String, Object> tags;
   private volatile Long durationMicroseconds;
   private volatile String operationName;
   private final List<Reference> references;
@@ -68,8 +69,7 @@ public class JaegerSpan implements Span {
     this.startTimeMicroseconds = startTimeMicroseconds;
     this.startTimeNanoTicks = startTimeNanoTicks;
     this.computeDurationViaNanoTicks = computeDurationViaNanoTicks;
-    this.tags = new ConcurrentHashMap<>();
-    this.references = references != null ? new ArrayList<Reference>(references) : null;
+    this.references = copyReferences(references);
 
     // Handle SAMPLING_PRIORITY tag first, as this influences whether setTagAsObject actually
     // sets other tags on the context or not, and we're not guaranteed to hit SAMPLING_PRIORITY first
@@ -111,7 +111,16 @@ public class JaegerSpan implements Span {
   }
 
   public Map<String, Object> getTags() {
-    return new HashMap<>(tags);
+    final Map<String, Object> tags = this.tags;
+    return tags == null ? new HashMap<String, Object>() : new HashMap<>(tags);
+  }
+
+  /**
+   * @return the value of the tag or null, without copying the tags like {@link #getTags()} does
+   */
+  public Object getTag(String key) {
+    final Map<String, Object> tags = this.tags;
+    return tags == null ? null : tags.get(key);
   }
 
   @Override
@@ -137,6 +146,18 @@ public class JaegerSpan implements Span {
     }
   }
 
+  /**
+   * Estimates the heap retained by this span: its tags, logs, references and baggage. Unlike the getters it does
+   * not copy anything, reporters use it to bound the memory held by buffered spans.
+   *
+   * @return the estimated size in bytes
+   */
+  public int estimateRetainedBytes() {
+    synchronized (this) {
+      return SpanSizeEstimator.estimate(operationName, tags, logs, references, context.baggage());
+    }
+  }
+
   @Override
   public JaegerSpan setBaggageItem(String key, String value) {
     if (key == null || (value == null && context.getBaggageItem(key) == null)) {
@@ -225,6 +246,11 @@ public class JaegerSpan implements Span {
     }
 
     if (context.isSampled()) {
+      Map<String, Object> tags = this.tags;
+      if (tags == null) {
+        tags = new ConcurrentHashMap<>();
+        this.tags = tags;
+      }
       tags.put(key, value == null ? "null" : value);
     }
 
@@ -269,6 +295,17 @@ public class JaegerSpan implements Span {
     }
   }
 
+  private static List<Reference> copyReferences(List<Reference> references) {
+    if (references == null || references.isEmpty()) {
+      return null;
+    }
+    // the common case of a single parent does not need a resizable list
+    if (references.size() == 1) {
+      return Collections.singletonList(references.get(0));
+    }
+    return new ArrayList<Reference>(references);
+  }
+
   /**
    * Creates logs related to logged exception
    *
@@ -15,7 +15,11 @@
 
 package io.jaegertracing.internal;
 
+import io.jaegertracing.internal.propagation.HexCodec;
 import io.jaegertracing.internal.propagation.TextMapCodec;
+import io.jaegertracing.internal.propagation.TraceContextCodec;
+import io.jaegertracing.internal.propagation.TraceState;
+import io.jaegertracing.internal.propagation.W3cBaggageCodec;
 import io.jaegertracing.internal.utils.Utils;
 import io.opentracing.SpanContext;
 
@@ -35,9 +39,15 @@ public class JaegerSpanContext implements SpanContext {
   private final Map<String, String> baggage;
   private final String debugId;
   private final JaegerObjectFactory objectFactory;
-  private final String traceIdAsString;
-  private final String spanIdAsString;
-  private String traceState;
+  // computed on first use, most contexts never have their ids rendered. The fields are not volatile: a thread may
+  // miss the value computed by another and compute an equal one, and a String is safe to read through a race
+  private String traceIdAsString;
+  private String spanIdAsString;
+  // the header values, computed on first injection so a context injected into many requests encodes them once
+  private String contextAsString;
+  private String traceParent;
+  private String baggageHeader;
+  private TraceState traceState;
 
   public JaegerSpanContext(long traceIdHigh, long traceIdLow, long spanId, long parentId, byte flags) {
     this(
@@ -71,8 +81,6 @@ public class JaegerSpanContext implements SpanContext {
     this.baggage = baggage;
     this.debugId = debugId;
     this.objectFactory = objectFactory;
-    this.traceIdAsString = convertTraceId();
-    this.spanIdAsString = Utils.to16HexString(spanId);
   }
 
   @Override
@@ -80,6 +88,16 @@ public class JaegerSpanContext implements SpanContext {
     return new HashMap<String, String>(baggage).entrySet();
   }
 
+  /**
+   * @return the baggage items as a read-only view, unlike {@link #baggageItems()} it does not copy them
+   */
+  public Iterable<Map.Entry<String, String>> baggageItemsView() {
+    if (baggage.isEmpty()) {
+      return Collections.<Map.Entry<String, String>>emptySet();
+    }
+    return Collections.unmodifiableMap(baggage).entrySet();
+  }
+
   public String getBaggageItem(String key) {
     return this.baggage.get(key);
   }
@@ -89,16 +107,16 @@ public class JaegerSpanContext implements SpanContext {
   }
 
   private String convertTraceId() {
-    if (traceIdHigh == 0L) {
-      return Utils.to16HexString(traceIdLow);
-    }
-    final String hexStringHigh = Utils.to16HexString(traceIdHigh);
-    final String hexStringLow = Utils.to16HexString(traceIdLow);
-    return hexStringHigh + hexStringLow;
+    return HexCodec.toLowerHex(traceIdHigh, traceIdLow);
   }
 
   public String getTraceId() {
-    return this.traceIdAsString;
+    String traceId = this.traceIdAsString;
+    if (traceId == null) {
+      traceId = convertTraceId();
+      this.traceIdAsString = traceId;
+    }
+    return traceId;
   }
 
   public long getTraceIdLow() {
@@ -121,7 +139,17 @@ public class JaegerSpanContext implements SpanContext {
     return flags;
   }
 
+  /**
+   * @return the value of the W3C {@code tracestate} header, null if there is none
+   */
   public String getTraceState() {
+    return traceState == null ? null : traceState.toString();
+  }
+
+  /**
+   * @return the members of the W3C {@code tracestate} header, null if there is none
+   */
+  public TraceState getTraceStateList() {
     return traceState;
   }
 
@@ -140,9 +168,47 @@ public class JaegerSpanContext implements SpanContext {
     return baggage.size();
   }
 
+  /**
+   * @return the context encoded as by {@link TextMapCodec#contextAsString}, computed once
+   */
+  public String getContextAsString() {
+    String value = this.contextAsString;
+    if (value == null) {
+      value = TextMapCodec.contextAsString(this);
+      this.contextAsString = value;
+    }
+    return value;
+  }
+
+  /**
+   * @return the context encoded as a W3C {@code traceparent} header by {@link TraceContextCodec#traceParent},
+   *     computed once
+   */
+  public String getTraceParent() {
+    String value = this.traceParent;
+    if (value == null) {
+      value = TraceContextCodec.traceParent(this);
+      this.traceParent = value;
+    }
+    return value;
+  }
+
+  /**
+   * @return the baggage encoded as a W3C {@code baggage} header by {@link W3cBaggageCodec#baggageHeader}, the
+   *     received header if the baggage was not modified, computed once
+   */
+  public String getBaggageHeader() {
+    String value = this.baggageHeader;
+    if (value == null) {
+      value = W3cBaggageCodec.baggageHeader(baggage);
+      this.baggageHeader = value;
+    }
+    return value;
+  }
+
   @Override
   public String toString() {
-    return TextMapCodec.contextAsString(this);
+    return getContextAsString();
   }
 
   public JaegerSpanContext withBaggageItem(String key, String val) {
@@ -152,18 +218,30 @@ public class JaegerSpanContext implements SpanContext {
     } else {
       newBaggage.put(key, val);
     }
-    return objectFactory.createSpanContext(traceIdHigh, traceIdLow, spanId, parentId, flags, newBaggage, debugId);
+    return keepTraceState(
+        objectFactory.createSpanContext(traceIdHigh, traceIdLow, spanId, parentId, flags, newBaggage, debugId));
   }
 
   public JaegerSpanContext withBaggage(Map<String, String> newBaggage) {
-    return objectFactory.createSpanContext(traceIdHigh, traceIdLow, spanId, parentId, flags, newBaggage, debugId);
+    return keepTraceState(
+        objectFactory.createSpanContext(traceIdHigh, traceIdLow, spanId, parentId, flags, newBaggage, debugId));
   }
 
   public JaegerSpanContext withFlags(byte flags) {
-    return objectFactory.createSpanContext(traceIdHigh, traceIdLow, spanId, parentId, flags, baggage, debugId);
+    return keepTraceState(
+        objectFactory.createSpanContext(traceIdHigh, traceIdLow, spanId, parentId, flags, baggage, debugId));
+  }
+
+  private JaegerSpanContext keepTraceState(JaegerSpanContext spanContext) {
+    spanContext.traceState = traceState;
+    return spanContext;
   }
 
   public JaegerSpanContext withTraceState(String traceState) {
+    return withTraceState(TraceState.fromHeader(traceState));
+  }
+
+  public JaegerSpanContext withTraceState(TraceState traceState) {
     JaegerSpanContext spanContext = objectFactory
         .createSpanContext(traceIdHigh, traceIdLow, spanId, parentId, flags, baggage, debugId);
     spanContext.traceState = traceState;
@@ -195,11 +273,16 @@ public class JaegerSpanContext implements SpanContext {
 
   @Override
   public String toTraceId() {
-    return traceIdAsString;
+    return getTraceId();
   }
 
   @Override
   public String toSpanId() {
-    return spanIdAsString;
+    String spanId = this.spanIdAsString;
+    if (spanId == null) {
+      spanId = Utils.to16HexString(this.spanId);
+      this.spanIdAsString = spanId;
+    }
+    return spanId;
   }
 }
@@ -26,6 +26,7 @@ import io.jaegertracing.internal.metrics.Metrics;
 import io.jaegertracing.internal.metrics.NoopMetricsFactory;
 import io.jaegertracing.internal.propagation.BinaryCodec;
 import io.jaegertracing.internal.propagation.TextMapCodec;
+import io.jaegertracing.internal.propagation.TraceState;
 import io.jaegertracing.internal.reporters.RemoteReporter;
 import io.jaegertracing.internal.samplers.RemoteControlledSampler;
 import io.jaegertracing.internal.samplers.SamplingStatus;
@@ -408,7 +409,7 @@ public class JaegerTracer implements Tracer, Closeable {
         }
       }
 
-      return getObjectFactory().createSpanContext(
+      JaegerSpanContext context = getObjectFactory().createSpanContext(
           preferredReference.getTraceIdHigh(),
           preferredReference.getTraceIdLow(),
           Utils.uniqueId(),
@@ -417,6 +418,9 @@ public class JaegerTracer implements Tracer, Closeable {
           preferredReference.getFlags(),
           getBaggage(),
           null);
+      // the W3C tracestate is forwarded downstream as is, or as updated by the application
+      TraceState traceState = preferredReference.getTraceStateList();
+      return traceState == null ? context : context.withTraceState(traceState);
     }
 
     //Visible for testing
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the heap retained by spans on a 64-bit JVM with compressed references, without copying or
+ * serializing anything. The numbers are approximations meant for bounding the memory of buffered spans: strings
+ * count as UTF-16, and values other than strings, numbers and booleans count as a small object.
+ */
+final class SpanSizeEstimator {
+  // JaegerSpan, its JaegerSpanContext and their boxed fields
+  static final int SPAN_BYTES = 200;
+  static final int STRING_BYTES = 40;
+  static final int MAP_BYTES = 64;
+  static final int MAP_ENTRY_BYTES = 40;
+  static final int LIST_BYTES = 40;
+  static final int LOG_BYTES = 40;
+  static final int REFERENCE_BYTES = 24;
+  static final int VALUE_BYTES = 16;
+
+  private SpanSizeEstimator() {
+  }
+
+  static int estimate(String operationName, Map<String, ?> tags, List<LogData> logs, List<Reference> references,
+      Map<String, String> baggage) {
+    long size = SPAN_BYTES + estimateString(operationName) + estimateMap(tags) + estimateMap(baggage);
+    if (logs != null) {
+      size += LIST_BYTES;
+      for (int i = 0; i < logs.size(); i++) {
+        LogData log = logs.get(i);
+        size += LOG_BYTES + estimateString(log.getMessage()) + estimateMap(log.getFields());
+      }
+    }
+    if (references != null) {
+      size += LIST_BYTES + (long) REFERENCE_BYTES * references.size();
+    }
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+
+  static long estimateMap(Map<String, ?> map) {
+    if (map == null || map.isEmpty()) {
+      return 0;
+    }
+    long size = MAP_BYTES;
+    for (Map.Entry<String, ?> entry : map.entrySet()) {
+      size += MAP_ENTRY_BYTES + estimateString(entry.getKey()) + estimateValue(entry.getValue());
+    }
+    return size;
+  }
+
+  static long estimateValue(Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof String) {
+      return estimateString((String) value);
+    }
+    return VALUE_BYTES;
+  }
+
+  static long estimateString(String value) {
+    return value == null ? 0 : STRING_BYTES + 2L * value.length();
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal;
+
+import io.opentracing.Span;
+import io.opentracing.tag.Tag;
+import io.opentracing.tag.Tags;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The span {@link JaegerObjectFactory} creates when the sampler decided not to sample the trace. It only carries
+ * what is needed for propagation: tags and logs are dropped without taking the span lock or reading the clock.
+ *
+ * <p>Setting {@link Tags#SAMPLING_PRIORITY} still upgrades the span, after which it records tags and logs and is
+ * reported like any other sampled span.
+ */
+class UnsampledJaegerSpan extends JaegerSpan {
+
+  UnsampledJaegerSpan(
+      JaegerTracer tracer,
+      String operationName,
+      JaegerSpanContext context,
+      long startTimeMicroseconds,
+      long startTimeNanoTicks,
+      boolean computeDurationViaNanoTicks,
+      Map<String, Object> tags,
+      List<Reference> references) {
+    super(tracer, operationName, context, startTimeMicroseconds, startTimeNanoTicks, computeDurationViaNanoTicks,
+        tags, references);
+  }
+
+  @Override
+  public JaegerSpan setTag(String key, String value) {
+    return isRecording(key) ? super.setTag(key, value) : this;
+  }
+
+  @Override
+  public JaegerSpan setTag(String key, boolean value) {
+    return isRecording(key) ? super.setTag(key, value) : this;
+  }
+
+  @Override
+  public JaegerSpan setTag(String key, Number value) {
+    return isRecording(key) ? super.setTag(key, value) : this;
+  }
+
+  @Override
+  public <T> Span setTag(Tag<T> tag, T value) {
+    return isRecording(tag.getKey()) ? super.setTag(tag, value) : this;
+  }
+
+  @Override
+  public JaegerSpan log(Map<String, ?> fields) {
+    return context().isSampled() ? super.log(fields) : this;
+  }
+
+  @Override
+  public JaegerSpan log(long timestampMicroseconds, Map<String, ?> fields) {
+    return context().isSampled() ? super.log(timestampMicroseconds, fields) : this;
+  }
+
+  @Override
+  public JaegerSpan log(String event) {
+    return context().isSampled() ? super.log(event) : this;
+  }
+
+  @Override
+  public JaegerSpan log(long timestampMicroseconds, String event) {
+    return context().isSampled() ? super.log(timestampMicroseconds, event) : this;
+  }
+
+  private boolean isRecording(String key) {
+    return context().isSampled() || Tags.SAMPLING_PRIORITY.getKey().equals(key);
+  }
+}
@@ -17,13 +17,12 @@ package io.jaegertracing.internal.baggage;
 import io.jaegertracing.internal.baggage.http.BaggageRestrictionResponse;
 import io.jaegertracing.internal.exceptions.BaggageRestrictionManagerException;
 import io.jaegertracing.internal.metrics.Metrics;
+import io.jaegertracing.internal.utils.PeriodicScheduler;
 import io.jaegertracing.spi.BaggageRestrictionManager;
 import io.jaegertracing.spi.BaggageRestrictionManagerProxy;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * NewRestrictionManager returns a BaggageRestrictionManager that polls the agent for the latest
@@ -35,7 +34,7 @@ public class RemoteBaggageRestrictionManager implements BaggageRestrictionManage
 
   private final String serviceName;
   private final BaggageRestrictionManagerProxy proxy;
-  private final Timer pollTimer;
+  private final PeriodicScheduler.Task pollTask;
   private final Metrics metrics;
   private final boolean denyBaggageOnInitializationFailure;
   private volatile boolean initialized;
@@ -50,6 +49,19 @@ public class RemoteBaggageRestrictionManager implements BaggageRestrictionManage
       boolean denyBaggageOnInitializationFailure,
       int refreshIntervalMs,
       int initialDelayMs
+  ) {
+    this(serviceName, proxy, metrics, denyBaggageOnInitializationFailure, refreshIntervalMs, initialDelayMs,
+        PeriodicScheduler.getDefaultForPolling());
+  }
+
+  protected RemoteBaggageRestrictionManager(
+      String serviceName,
+      BaggageRestrictionManagerProxy proxy,
+      Metrics metrics,
+      boolean denyBaggageOnInitializationFailure,
+      int refreshIntervalMs,
+      int initialDelayMs,
+      PeriodicScheduler scheduler
   ) {
     this.serviceName = serviceName;
     this.proxy = proxy;
@@ -59,9 +71,8 @@ public class RemoteBaggageRestrictionManager implements BaggageRestrictionManage
     this.invalidRestriction = Restriction.of(false, 0);
     this.validRestriction = Restriction.of(true, DEFAULT_MAX_VALUE_LENGTH);
 
-    pollTimer = new Timer(true); // true makes this a daemon thread
-    pollTimer.schedule(
-        new TimerTask() {
+    pollTask = scheduler.schedule(
+        new Runnable() {
           @Override
           public void run() {
             updateBaggageRestrictions();
@@ -101,7 +112,7 @@ public class RemoteBaggageRestrictionManager implements BaggageRestrictionManage
   }
 
   public void close() {
-    pollTimer.cancel();
+    pollTask.cancel();
   }
 
   @Override
@@ -127,6 +138,7 @@ public class RemoteBaggageRestrictionManager implements BaggageRestrictionManage
     private boolean denyBaggageOnInitializationFailure;
     private int refreshIntervalMs = DEFAULT_REFRESH_INTERVAL_MS;
     private int initialDelayMs = DEFAULT_INITIAL_DELAY_MS;
+    private PeriodicScheduler scheduler = PeriodicScheduler.getDefaultForPolling();
 
     /**
      * @param serviceName restrictions for this service are kept track of.
@@ -185,13 +197,22 @@ public class RemoteBaggageRestrictionManager implements BaggageRestrictionManage
       return this;
     }
 
+    /**
+     * @param scheduler runs the polling, by default the {@link PeriodicScheduler#getDefaultForPolling() shared
+     *     one}
+     */
+    public Builder withScheduler(PeriodicScheduler scheduler) {
+      this.scheduler = scheduler;
+      return this;
+    }
+
     /**
      * Creates a RemoteBaggageRestrictionManager that fetches {@link BaggageRestrictionResponse} from a remote
      * agent and keeps track of {@link Restriction} for a service.
      */
     public RemoteBaggageRestrictionManager build() {
       return new RemoteBaggageRestrictionManager(serviceName, proxy, metrics, denyBaggageOnInitializationFailure,
-          refreshIntervalMs, initialDelayMs);
+          refreshIntervalMs, initialDelayMs, scheduler);
     }
   }
 }
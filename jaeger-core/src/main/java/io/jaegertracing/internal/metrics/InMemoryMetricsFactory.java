@@ -15,42 +15,45 @@
 package io.jaegertracing.internal.metrics;
 
 import io.jaegertracing.spi.MetricsFactory;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * An ephemeral metrics factory, storing data in memory. This metrics factory is not meant to be used for production
- * purposes.
+ * purposes. See {@link StripedMetricsFactory} for a factory that holds up under concurrent updates.
  */
 public class InMemoryMetricsFactory implements MetricsFactory {
-  private Map<String, AtomicLong> counters = new ConcurrentHashMap<String, AtomicLong>();
-  private Map<String, AtomicLong> timers = new ConcurrentHashMap<String, AtomicLong>();
-  private Map<String, AtomicLong> gauges = new ConcurrentHashMap<String, AtomicLong>();
+  // the values are AtomicLongs, or LongAdders for the counters and timers of a striped factory
+  final Map<String, Number> counters = new ConcurrentHashMap<String, Number>();
+  final Map<String, Number> timers = new ConcurrentHashMap<String, Number>();
+  final Map<String, Number> gauges = new ConcurrentHashMap<String, Number>();
+  private final boolean striped;
+
+  public InMemoryMetricsFactory() {
+    this(false);
+  }
+
+  InMemoryMetricsFactory(boolean striped) {
+    this.striped = striped;
+  }
 
   @Override
   public Counter createCounter(String name, Map<String, String> tags) {
-    final AtomicLong value = new AtomicLong(0);
-    counters.put(Metrics.addTagsToMetricName(name, tags), value);
-
-    return new Counter() {
-      @Override
-      public void inc(long delta) {
-        value.addAndGet(delta);
-      }
-    };
+    return createSum(counters, Metrics.addTagsToMetricName(name, tags));
   }
 
   @Override
   public Timer createTimer(final String name, final Map<String, String> tags) {
-    final AtomicLong value = new AtomicLong(0);
-    timers.put(Metrics.addTagsToMetricName(name, tags), value);
+    final Counter sum = createSum(timers, Metrics.addTagsToMetricName(name, tags));
 
     return new Timer() {
       @Override
       public void durationMicros(long time) {
-        value.addAndGet(time);
+        sum.inc(time);
       }
     };
   }
@@ -63,7 +66,30 @@ public class InMemoryMetricsFactory implements MetricsFactory {
     return new Gauge() {
       @Override
       public void update(long amount) {
-        value.getAndSet(amount);
+        value.set(amount);
+      }
+    };
+  }
+
+  private Counter createSum(Map<String, Number> values, String metricName) {
+    if (striped) {
+      final LongAdder value = new LongAdder();
+      values.put(metricName, value);
+
+      return new Counter() {
+        @Override
+        public void inc(long delta) {
+          value.add(delta);
+        }
+      };
+    }
+    final AtomicLong value = new AtomicLong(0);
+    values.put(metricName, value);
+
+    return new Counter() {
+      @Override
+      public void inc(long delta) {
+        value.addAndGet(delta);
       }
     };
   }
@@ -140,35 +166,31 @@ public class InMemoryMetricsFactory implements MetricsFactory {
     return getValue(timers, name, tags);
   }
 
-  private long getValue(Map<String, AtomicLong> collection, String name, String tags) {
-    if (null == tags || tags.isEmpty()) {
-      return getValue(collection, name);
-    }
-
-    String[] entries = tags.split(",");
-    Map<String, String> tagsAsMap = new HashMap<String, String>(entries.length);
-    for (String entry : entries) {
-      String[] keyValue = entry.split("=");
-      if (keyValue.length == 2) {
-        tagsAsMap.put(keyValue[0], keyValue[1]);
-      } else {
-        tagsAsMap.put(keyValue[0], "");
-      }
-    }
-
-    return getValue(collection, Metrics.addTagsToMetricName(name, tagsAsMap));
+  private long getValue(Map<String, Number> collection, String name, String tags) {
+    return getValue(collection, Metrics.addTagsToMetricName(name, tags));
   }
 
-  private long getValue(Map<String, AtomicLong> collection, String name, Map<String, String> tags) {
+  private long getValue(Map<String, Number> collection, String name, Map<String, String> tags) {
     return getValue(collection, Metrics.addTagsToMetricName(name, tags));
   }
 
-  private long getValue(Map<String, AtomicLong> collection, String name) {
-    AtomicLong value = collection.get(name);
+  private long getValue(Map<String, Number> collection, String name) {
+    Number value = collection.get(name);
     if (null == value) {
       return -1;
     } else {
-      return value.get();
+      return value.longValue();
+    }
+  }
+
+  /**
+   * @return the current values, keyed and sorted by the metric name including the tags
+   */
+  static Map<String, Long> snapshot(Map<String, Number> collection) {
+    Map<String, Long> snapshot = new TreeMap<String, Long>();
+    for (Map.Entry<String, Number> entry : collection.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().longValue());
     }
+    return Collections.unmodifiableMap(snapshot);
   }
 }
@@ -98,6 +98,28 @@ public class Metrics {
     return sb.toString();
   }
 
+  /**
+   * @param tags the metric tags as comma separated list of entries, like "foo=bar,baz=qux"
+   */
+  static String addTagsToMetricName(String name, String tags) {
+    if (null == tags || tags.isEmpty()) {
+      return name;
+    }
+
+    String[] entries = tags.split(",");
+    Map<String, String> tagsAsMap = new HashMap<String, String>(entries.length);
+    for (String entry : entries) {
+      String[] keyValue = entry.split("=");
+      if (keyValue.length == 2) {
+        tagsAsMap.put(keyValue[0], keyValue[1]);
+      } else {
+        tagsAsMap.put(keyValue[0], "");
+      }
+    }
+
+    return addTagsToMetricName(name, tagsAsMap);
+  }
+
   @Metric(
         name = "traces",
         tags = {
@@ -166,10 +188,34 @@ public class Metrics {
   // Number of spans dropped due to internal queue overflow
   public Counter reporterDropped;
 
+  @Metric(name = "reporter_dropped_spans", tags = @Tag(key = "priority", value = "high"))
+  // Number of debug or error spans dropped due to internal queue overflow
+  public Counter reporterDroppedHighPriority;
+
+  @Metric(name = "reporter_dropped_spans", tags = @Tag(key = "priority", value = "normal"))
+  // Number of other spans dropped due to internal queue overflow
+  public Counter reporterDroppedNormalPriority;
+
   @Metric(name = "reporter_queue_length")
   // Current number of spans in the reporter queue
   public Gauge reporterQueueLength;
 
+  @Metric(name = "reporter_queue_bytes")
+  // Estimated heap retained by the spans in the reporter queue, if the queue is bounded by bytes
+  public Gauge reporterQueueBytes;
+
+  @Metric(name = "reporter_spill_bytes", tags = @Tag(key = "result", value = "spilled"))
+  // Number of bytes of failed batches written to the spill file
+  public Counter reporterSpilledBytes;
+
+  @Metric(name = "reporter_spill_bytes", tags = @Tag(key = "result", value = "replayed"))
+  // Number of bytes of spilled batches sent again
+  public Counter reporterReplayedBytes;
+
+  @Metric(name = "reporter_spill_bytes", tags = @Tag(key = "result", value = "evicted"))
+  // Number of bytes of spilled batches evicted before they could be sent again
+  public Counter reporterEvictedBytes;
+
   @Metric(name = "sampler_queries", tags = @Tag(key = "result", value = "ok"))
   // Number of times the Sampler succeeded to retrieve sampling strategy
   public Counter samplerRetrieved;
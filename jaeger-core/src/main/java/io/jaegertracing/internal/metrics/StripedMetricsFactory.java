@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metrics factory storing data in memory, meant for counters that are updated from many threads at once,
+ * like the tracer's span and trace counters.
+ *
+ * <p>Counters and timers are backed by {@link LongAdder}s: concurrent updates go to striped cells instead of
+ * contending on a single value, and reads sum the cells up. Gauges keep only the last value, so they are a
+ * plain volatile write. The {@code snapshot*} methods return a point in time copy of all values for export.
+ */
+public class StripedMetricsFactory extends InMemoryMetricsFactory {
+
+  public StripedMetricsFactory() {
+    super(true);
+  }
+
+  /**
+   * @return the current values of all counters, keyed and sorted by the metric name including the tags
+   */
+  public Map<String, Long> snapshotCounters() {
+    return snapshot(counters);
+  }
+
+  /**
+   * @return the accumulated values of all timers, keyed and sorted by the metric name including the tags
+   */
+  public Map<String, Long> snapshotTimers() {
+    return snapshot(timers);
+  }
+
+  /**
+   * @return the current values of all gauges, keyed and sorted by the metric name including the tags
+   */
+  public Map<String, Long> snapshotGauges() {
+    return snapshot(gauges);
+  }
+}
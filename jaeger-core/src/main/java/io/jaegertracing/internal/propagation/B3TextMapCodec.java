@@ -21,6 +21,7 @@ import io.jaegertracing.internal.JaegerTracer;
 import io.jaegertracing.spi.BaggageRestrictionManager;
 import io.jaegertracing.spi.Codec;
 import io.opentracing.propagation.TextMap;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -42,6 +43,12 @@ import java.util.Map;
  * <p>
  * See <a href="http://zipkin.io/pages/instrumenting.html">Instrumenting a Library</a>
  *
+ * <p>
+ * The codec also extracts the single {@value #SINGLE_HEADER_NAME} header,
+ * {@code {TraceId}-{SpanId}-{SamplingState}-{ParentSpanId}}, which takes precedence over the
+ * {@code X-B3-*} headers, and injects it instead of them if built with
+ * {@link Builder#withSingleHeaderInjection}.
+ *
  * Note that this codec automatically propagates baggage
  * (with {@value io.jaegertracing.internal.propagation.B3TextMapCodec#BAGGAGE_PREFIX} prefix).
  * Baggage whitelisting can be configured in {@link BaggageRestrictionManager} and then
@@ -53,6 +60,7 @@ public class B3TextMapCodec implements Codec<TextMap> {
   protected static final String PARENT_SPAN_ID_NAME = "X-B3-ParentSpanId";
   protected static final String SAMPLED_NAME = "X-B3-Sampled";
   protected static final String FLAGS_NAME = "X-B3-Flags";
+  protected static final String SINGLE_HEADER_NAME = "b3";
   protected static final String BAGGAGE_PREFIX = "baggage-";
   // NOTE: uber's flags aren't the same as B3/Finagle ones
   protected static final byte SAMPLED_FLAG = 1;
@@ -61,6 +69,7 @@ public class B3TextMapCodec implements Codec<TextMap> {
   private static final PrefixedKeys keys = new PrefixedKeys();
   private final String baggagePrefix;
   private final JaegerObjectFactory objectFactory;
+  private final boolean singleHeaderInjection;
 
   /**
    * @deprecated use {@link Builder} instead
@@ -73,10 +82,16 @@ public class B3TextMapCodec implements Codec<TextMap> {
   private B3TextMapCodec(Builder builder) {
     this.baggagePrefix = builder.baggagePrefix;
     this.objectFactory = builder.objectFactory;
+    this.singleHeaderInjection = builder.singleHeaderInjection;
   }
 
   @Override
   public void inject(JaegerSpanContext spanContext, TextMap carrier) {
+    if (singleHeaderInjection) {
+      carrier.put(SINGLE_HEADER_NAME, toSingleHeader(spanContext));
+      injectBaggage(spanContext, carrier);
+      return;
+    }
     carrier.put(TRACE_ID_NAME, // Use HexCode instead of getTraceId to ensure zipkin compatibility
             HexCodec.toLowerHex(spanContext.getTraceIdHigh(), spanContext.getTraceIdLow()));
     if (spanContext.getParentId() != 0L) { // Conventionally, parent id == 0 means the root span
@@ -87,18 +102,46 @@ public class B3TextMapCodec implements Codec<TextMap> {
     if (spanContext.isDebug()) {
       carrier.put(FLAGS_NAME, "1");
     }
-    for (Map.Entry<String, String> entry : spanContext.baggageItems()) {
+    injectBaggage(spanContext, carrier);
+  }
+
+  private static String toSingleHeader(JaegerSpanContext spanContext) {
+    long traceIdHigh = spanContext.getTraceIdHigh();
+    int traceIdLength = traceIdHigh != 0 ? 32 : 16;
+    long parentId = spanContext.getParentId();
+    char[] header = new char[traceIdLength + 19 + (parentId != 0 ? 17 : 0)];
+    if (traceIdHigh != 0) {
+      HexCodec.writeHexLong(header, 0, traceIdHigh);
+    }
+    HexCodec.writeHexLong(header, traceIdLength - 16, spanContext.getTraceIdLow());
+    header[traceIdLength] = '-';
+    HexCodec.writeHexLong(header, traceIdLength + 1, spanContext.getSpanId());
+    header[traceIdLength + 17] = '-';
+    header[traceIdLength + 18] = spanContext.isDebug() ? 'd' : spanContext.isSampled() ? '1' : '0';
+    if (parentId != 0) { // Conventionally, parent id == 0 means the root span
+      header[traceIdLength + 19] = '-';
+      HexCodec.writeHexLong(header, traceIdLength + 20, parentId);
+    }
+    return new String(header);
+  }
+
+  private void injectBaggage(JaegerSpanContext spanContext, TextMap carrier) {
+    for (Map.Entry<String, String> entry : spanContext.baggageItemsView()) {
       carrier.put(keys.prefixedKey(entry.getKey(), baggagePrefix), entry.getValue());
     }
   }
 
   @Override
   public JaegerSpanContext extract(TextMap carrier) {
-    Long traceIdLow = null;
-    Long traceIdHigh = 0L; // It's enough to check for a null low trace id
-    Long spanId = null;
-    Long parentId = 0L; // Conventionally, parent id == 0 means the root span
+    long traceIdLow = 0L;
+    long traceIdHigh = 0L;
+    long spanId = 0L;
+    long parentId = 0L; // Conventionally, parent id == 0 means the root span
+    boolean hasTraceId = false;
+    boolean hasSpanId = false;
+    boolean validParentId = true;
     byte flags = 0;
+    String singleHeader = null;
     Map<String, String> baggage = null;
     for (Map.Entry<String, String> entry : carrier) {
       if (entry.getKey().equalsIgnoreCase(SAMPLED_NAME)) {
@@ -107,16 +150,25 @@ public class B3TextMapCodec implements Codec<TextMap> {
           flags |= SAMPLED_FLAG;
         }
       } else if (entry.getKey().equalsIgnoreCase(TRACE_ID_NAME)) {
-        traceIdLow = HexCodec.lowerHexToUnsignedLong(entry.getValue());
-        traceIdHigh = HexCodec.higherHexToUnsignedLong(entry.getValue());
+        String value = entry.getValue();
+        hasTraceId = isHexId(value);
+        if (hasTraceId) {
+          int lowStart = Math.max(value.length() - 16, 0);
+          traceIdHigh = HexCodec.lowerHexToLong(value, 0, lowStart);
+          traceIdLow = HexCodec.lowerHexToLong(value, lowStart, value.length());
+        }
       } else if (entry.getKey().equalsIgnoreCase(PARENT_SPAN_ID_NAME)) {
-        parentId = HexCodec.lowerHexToUnsignedLong(entry.getValue());
+        validParentId = isHexId(entry.getValue());
+        parentId = validParentId ? lowBits(entry.getValue()) : 0L;
       } else if (entry.getKey().equalsIgnoreCase(SPAN_ID_NAME)) {
-        spanId = HexCodec.lowerHexToUnsignedLong(entry.getValue());
+        hasSpanId = isHexId(entry.getValue());
+        spanId = hasSpanId ? lowBits(entry.getValue()) : 0L;
       } else if (entry.getKey().equalsIgnoreCase(FLAGS_NAME)) {
         if (entry.getValue().equals("1")) {
           flags |= DEBUG_FLAG;
         }
+      } else if (entry.getKey().equalsIgnoreCase(SINGLE_HEADER_NAME)) {
+        singleHeader = entry.getValue();
       } else if (entry.getKey().startsWith(baggagePrefix)) {
         if (baggage == null) {
           baggage = new HashMap<String, String>();
@@ -125,8 +177,9 @@ public class B3TextMapCodec implements Codec<TextMap> {
       }
     }
 
-    if (null != traceIdLow && null != parentId && null != spanId) {
-      JaegerSpanContext spanContext = objectFactory.createSpanContext(
+    JaegerSpanContext spanContext = singleHeader != null ? extractSingleHeader(singleHeader) : null;
+    if (spanContext == null && hasTraceId && hasSpanId && validParentId) {
+      spanContext = objectFactory.createSpanContext(
           traceIdHigh,
           traceIdLow,
           spanId,
@@ -135,17 +188,91 @@ public class B3TextMapCodec implements Codec<TextMap> {
           Collections.<String, String>emptyMap(),
           null // debugId
           );
-      if (baggage != null) {
-        spanContext = spanContext.withBaggage(baggage);
+    }
+    if (spanContext != null && baggage != null) {
+      spanContext = spanContext.withBaggage(baggage);
+    }
+    return spanContext;
+  }
+
+  /**
+   * Parses {@code {TraceId}-{SpanId}-{SamplingState}-{ParentSpanId}} in one pass, the sampling state and the
+   * parent span id being optional.
+   *
+   * @return null if the header is invalid, or holds only a sampling state
+   */
+  private JaegerSpanContext extractSingleHeader(String header) {
+    int length = header.length();
+    int traceIdLength;
+    if (length >= 33 && header.charAt(16) == '-') {
+      traceIdLength = 16;
+    } else if (length >= 49 && header.charAt(32) == '-') {
+      traceIdLength = 32;
+    } else {
+      return null;
+    }
+    int spanIdEnd = traceIdLength + 17;
+    if ((length > spanIdEnd && header.charAt(spanIdEnd) != '-')
+        || !HexCodec.isLowerHex(header, 0, traceIdLength)
+        || !HexCodec.isLowerHex(header, traceIdLength + 1, spanIdEnd)) {
+      return null;
+    }
+
+    byte flags = 0;
+    long parentId = 0L;
+    if (length > spanIdEnd) {
+      if (length == spanIdEnd + 1) {
+        return null;
+      }
+      char samplingState = header.charAt(spanIdEnd + 1);
+      if (samplingState == '1') {
+        flags = SAMPLED_FLAG;
+      } else if (samplingState == 'd') {
+        flags = SAMPLED_FLAG | DEBUG_FLAG;
+      } else if (samplingState != '0') {
+        return null;
+      }
+      int parentIdStart = spanIdEnd + 3;
+      if (length > spanIdEnd + 2) {
+        if (length != parentIdStart + 16 || header.charAt(spanIdEnd + 2) != '-'
+            || !HexCodec.isLowerHex(header, parentIdStart, length)) {
+          return null;
+        }
+        parentId = HexCodec.lowerHexToLong(header, parentIdStart, length);
       }
-      return spanContext;
     }
-    return null;
+    return objectFactory.createSpanContext(
+        traceIdLength == 32 ? HexCodec.lowerHexToLong(header, 0, 16) : 0L,
+        HexCodec.lowerHexToLong(header, traceIdLength - 16, traceIdLength),
+        HexCodec.lowerHexToLong(header, traceIdLength + 1, spanIdEnd),
+        parentId,
+        flags,
+        Collections.<String, String>emptyMap(),
+        null // debugId
+        );
+  }
+
+  /**
+   * @return true if the value is a 1 to 32 characters lower-hex id, the bits beyond the lower 64 being ignored
+   */
+  private static boolean isHexId(String value) {
+    int length = value.length();
+    return length >= 1 && length <= 32 && HexCodec.isLowerHex(value, 0, length);
+  }
+
+  private static long lowBits(String hexId) {
+    return HexCodec.lowerHexToLong(hexId, Math.max(hexId.length() - 16, 0), hexId.length());
+  }
+
+  DeclaredKeys declaredKeys() {
+    return new DeclaredKeys(Arrays.asList(TRACE_ID_NAME, SPAN_ID_NAME, PARENT_SPAN_ID_NAME, SAMPLED_NAME, FLAGS_NAME,
+        SINGLE_HEADER_NAME), Collections.singletonList(baggagePrefix));
   }
 
   public static class Builder {
     private String baggagePrefix = BAGGAGE_PREFIX;
     private JaegerObjectFactory objectFactory = new JaegerObjectFactory();
+    private boolean singleHeaderInjection;
 
     /**
      * Specify baggage prefix. The default is {@value B3TextMapCodec#BAGGAGE_PREFIX}
@@ -164,6 +291,15 @@ public class B3TextMapCodec implements Codec<TextMap> {
       return this;
     }
 
+    /**
+     * Specify whether to inject the single {@value B3TextMapCodec#SINGLE_HEADER_NAME} header instead of the
+     * {@code X-B3-*} headers. The default is false. Both forms are always extracted.
+     */
+    public Builder withSingleHeaderInjection(boolean singleHeaderInjection) {
+      this.singleHeaderInjection = singleHeaderInjection;
+      return this;
+    }
+
     public B3TextMapCodec build() {
       return new B3TextMapCodec(this);
     }
@@ -19,7 +19,6 @@ import io.jaegertracing.internal.JaegerSpanContext;
 import io.jaegertracing.spi.Codec;
 import io.opentracing.propagation.Binary;
 
-import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
@@ -66,57 +65,86 @@ public class BinaryCodec implements Codec<Binary> {
   }
 
   /**
-   * Write a long into a stream in network order
+   * Size of the fixed part of the wire format: the four IDs, the flags and the baggage count.
+   */
+  private static final int FIXED_SIZE = 4 * 8 + 1 + 4;
+
+  /**
+   * Computes the number of bytes of the encoded span context, so that it can be written straight into the
+   * buffer of the carrier.
    *
-   * @param stream Stream to write the integer into
-   * @param value  long to write
-   * @param buf buffer to use to write to the stream.
+   * @param spanContext span context to encode
+   * @return the exact encoded size
    */
-  private static void writeLong(ByteArrayOutputStream stream, long value) {
-    stream.write((byte) (value >> 56));
-    stream.write((byte) (value >> 48));
-    stream.write((byte) (value >> 40));
-    stream.write((byte) (value >> 32));
-    stream.write((byte) (value >> 24));
-    stream.write((byte) (value >> 16));
-    stream.write((byte) (value >> 8));
-    stream.write((byte) (value));
+  static int encodedSize(JaegerSpanContext spanContext) {
+    int size = FIXED_SIZE;
+    for (Map.Entry<String, String> entry : spanContext.baggageItemsView()) {
+      size += 4 + utf8Length(entry.getKey()) + 4 + utf8Length(entry.getValue());
+    }
+    return size;
   }
 
   /**
-   * Write an integer into a stream in network order
+   * Computes the length of a string encoded in UTF-8, without encoding it. An unpaired surrogate counts as one
+   * byte, as {@link String#getBytes(Charset)} replaces it with '?'.
    *
-   * @param stream Stream to write the integer into
-   * @param value  integer to write
+   * @param value string to measure
+   * @return number of bytes of the UTF-8 encoding of the string
    */
-  private static void writeInt(ByteArrayOutputStream stream, int value) {
-    stream.write((byte) (value >> 24));
-    stream.write((byte) (value >> 16));
-    stream.write((byte) (value >> 8));
-    stream.write((byte) (value));
+  static int utf8Length(String value) {
+    int length = value.length();
+    int bytes = length;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        continue;
+      }
+      if (c < 0x800) {
+        bytes += 1;
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+        // the pair of chars is encoded in 4 bytes
+        bytes += 2;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        // unpaired, replaced by '?'
+        continue;
+      } else {
+        bytes += 2;
+      }
+    }
+    return bytes;
   }
 
   /**
-   * Writes a String Key/Value pair into a ByteArrayOutputStream
+   * Writes a string encoded in UTF-8, prefixed by its encoded length, into a buffer.
    *
-   * @param stream Stream to write the integer into
-   * @param key    key of the KV pair
-   * @param value  value of the KV pair
+   * @param buf   buffer to write into
+   * @param value string to write
    */
-  private void writeKvPair(ByteArrayOutputStream stream, String key, String value) {
-    byte[] buf;
-
-    int keyLen;
-    buf = key.getBytes(DEFAULT_CHARSET);
-    keyLen = buf.length;
-    writeInt(stream, keyLen);
-    stream.write(buf, 0, keyLen);
-
-    int valLen;
-    buf = value.getBytes(DEFAULT_CHARSET);
-    valLen = value.length();
-    writeInt(stream, valLen);
-    stream.write(buf, 0, valLen);
+  private static void writeString(ByteBuffer buf, String value) {
+    buf.putInt(utf8Length(value));
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        buf.put((byte) c);
+      } else if (c < 0x800) {
+        buf.put((byte) (0xc0 | (c >> 6)));
+        buf.put((byte) (0x80 | (c & 0x3f)));
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        buf.put((byte) (0xf0 | (codePoint >> 18)));
+        buf.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+        buf.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+        buf.put((byte) (0x80 | (codePoint & 0x3f)));
+      } else if (Character.isSurrogate(c)) {
+        buf.put((byte) '?');
+      } else {
+        buf.put((byte) (0xe0 | (c >> 12)));
+        buf.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+        buf.put((byte) (0x80 | (c & 0x3f)));
+      }
+    }
   }
 
   /**
@@ -133,40 +161,33 @@ public class BinaryCodec implements Codec<Binary> {
   @Override
   public void inject(JaegerSpanContext spanContext, Binary carrier) {
 
-    // Because we need to know the size of a ByteBuffer a priori, we'll
-    // use a stream to serialize and then copy the stream into the
-    // ByteBuffer of the carrier.  The double allocation isn't ideal, but
-    // these should be small and the GC will return this memory very fast.
-    ByteArrayOutputStream stream = new ByteArrayOutputStream(64);
+    // The carrier needs the size of the ByteBuffer a priori, compute
+    // it first so that the context can be written straight into it.
+    ByteBuffer buf = carrier.injectionBuffer(encodedSize(spanContext));
+
+    // Java defaults to big endian (network order), but enforce it just
+    // in case the carrier set the wrong byte order before passing it in.
+    if (buf.order() != ByteOrder.BIG_ENDIAN) {
+      throw new IllegalStateException("Carrier byte order must be big endian.");
+    }
 
     // Write the IDs
-    writeLong(stream, spanContext.getTraceIdHigh());
-    writeLong(stream, spanContext.getTraceIdLow());
-    writeLong(stream, spanContext.getSpanId());
-    writeLong(stream, spanContext.getParentId());
+    buf.putLong(spanContext.getTraceIdHigh());
+    buf.putLong(spanContext.getTraceIdLow());
+    buf.putLong(spanContext.getSpanId());
+    buf.putLong(spanContext.getParentId());
 
     // Write the flags (byte)
-    stream.write(spanContext.getFlags());
+    buf.put(spanContext.getFlags());
 
     // write the baggage count.
-    writeInt(stream, spanContext.baggageCount());
-
-    // write the kv/pars into the stream
-    for (Map.Entry<String, String> entry : spanContext.baggageItems()) {
-      writeKvPair(stream, entry.getKey(), entry.getValue());
-    }
+    buf.putInt(spanContext.baggageCount());
 
-    // Now we have a stream and a size, and we'll copy it into the byte
-    // buffer.
-    int size = stream.size();
-    ByteBuffer buf = carrier.injectionBuffer(size);
-
-    // Java defaults to big endian (network order), but enforce it just
-    // in case the carrier set the wrong byte order before passing it in.
-    if (buf.order() != ByteOrder.BIG_ENDIAN) {
-      throw new IllegalStateException("Carrier byte order must be big endian.");
+    // write the kv/pairs into the buffer
+    for (Map.Entry<String, String> entry : spanContext.baggageItemsView()) {
+      writeString(buf, entry.getKey());
+      writeString(buf, entry.getValue());
     }
-    buf.put(stream.toByteArray(), 0, size);
   }
 
   @Override
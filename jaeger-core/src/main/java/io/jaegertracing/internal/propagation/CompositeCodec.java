@@ -16,15 +16,35 @@ package io.jaegertracing.internal.propagation;
 
 import io.jaegertracing.internal.JaegerSpanContext;
 import io.jaegertracing.spi.Codec;
-import java.util.LinkedList;
+import io.opentracing.propagation.TextMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
+/**
+ * Injects with all the codecs, and extracts with the first codec finding a context in the carrier.
+ *
+ * <p>The first codec is handed the carrier as is. If it finds no context and at least two of the other codecs of
+ * a text map declare their keys, the carrier is walked once, each of its entries is classified with a lookup table
+ * of the keys of the codecs, and each of these codecs reads only its own entries. A codec none of whose keys are in
+ * the carrier is skipped. The keys are declared by the codecs implementing {@link ExtractedKeys}, and known for the
+ * built-in text map codecs, but not for their subclasses, which may read more keys.
+ */
 public class CompositeCodec<T> implements Codec<T> {
 
   private final java.util.List<Codec<T>> codecs;
 
+  // null if less than two codecs after the first declare their keys
+  private final KeyTable keyTable;
+
   public CompositeCodec(List<Codec<T>> codecs) {
-    this.codecs = new LinkedList<Codec<T>>(codecs);
+    this.codecs = new ArrayList<Codec<T>>(codecs);
+    this.keyTable = KeyTable.of(this.codecs);
   }
 
   @Override
@@ -36,6 +56,11 @@ public class CompositeCodec<T> implements Codec<T> {
 
   @Override
   public JaegerSpanContext extract(T carrier) {
+    if (keyTable != null && carrier instanceof TextMap) {
+      // most carriers hold the context of the first codec, they are not classified
+      JaegerSpanContext context = codecs.get(0).extract(carrier);
+      return context != null ? context : extractOnce((TextMap) carrier);
+    }
     for (Codec<T> codec : codecs) {
       JaegerSpanContext context = codec.extract(carrier);
       if (context != null) {
@@ -45,6 +70,33 @@ public class CompositeCodec<T> implements Codec<T> {
     return null;
   }
 
+  @SuppressWarnings("unchecked")
+  private JaegerSpanContext extractOnce(TextMap carrier) {
+    MatchedEntries matched = new MatchedEntries();
+    for (Map.Entry<String, String> entry : carrier) {
+      long codecs = keyTable.codecsReading(entry.getKey());
+      if (codecs != 0) {
+        matched.add(entry, codecs);
+      }
+    }
+    for (int i = 1; i < codecs.size(); i++) {
+      JaegerSpanContext context;
+      if (keyTable.declaresKeys(i)) {
+        if (!matched.select(i)) {
+          continue;
+        }
+        // the codecs declaring their keys are text map codecs
+        context = codecs.get(i).extract((T) matched);
+      } else {
+        context = codecs.get(i).extract((T) carrier);
+      }
+      if (context != null) {
+        return context;
+      }
+    }
+    return null;
+  }
+
   @Override
   public String toString() {
     StringBuilder buffer = new StringBuilder();
@@ -57,4 +109,205 @@ public class CompositeCodec<T> implements Codec<T> {
     return buffer.toString();
   }
 
+  /**
+   * Maps the keys of a carrier to the bit set of the codecs reading them. The keys are looked up by length, most
+   * keys of a carrier have no candidate of their length, and are compared ignoring case.
+   */
+  private static final class KeyTable {
+    // the codecs after the first 64 are handed the whole carrier
+    private static final int MAX_CODECS = Long.SIZE;
+
+    private final long declaringCodecs;
+    private final String[][] keysByLength;
+    private final long[][] codecsByLength;
+    private final String[] prefixes;
+    private final long[] prefixCodecs;
+
+    private KeyTable(long declaringCodecs, String[][] keysByLength, long[][] codecsByLength, String[] prefixes,
+        long[] prefixCodecs) {
+      this.declaringCodecs = declaringCodecs;
+      this.keysByLength = keysByLength;
+      this.codecsByLength = codecsByLength;
+      this.prefixes = prefixes;
+      this.prefixCodecs = prefixCodecs;
+    }
+
+    static KeyTable of(List<? extends Codec<?>> codecs) {
+      long declaringCodecs = 0;
+      Map<String, Long> keyCodecs = new LinkedHashMap<String, Long>();
+      Map<String, Long> prefixCodecs = new LinkedHashMap<String, Long>();
+      int maxKeyLength = -1;
+      // the first codec is handed the carrier before it is classified
+      for (int i = 1; i < Math.min(codecs.size(), MAX_CODECS); i++) {
+        ExtractedKeys extractedKeys = extractedKeys(codecs.get(i));
+        if (extractedKeys != null) {
+          declaringCodecs |= 1L << i;
+          for (String key : extractedKeys.extractedKeys()) {
+            addCodec(keyCodecs, key, i);
+            maxKeyLength = Math.max(maxKeyLength, key.length());
+          }
+          for (String prefix : extractedKeys.extractedKeyPrefixes()) {
+            addCodec(prefixCodecs, prefix, i);
+          }
+        }
+      }
+      // a single codec is not faster reading its entries than walking the carrier itself
+      if (Long.bitCount(declaringCodecs) < 2) {
+        return null;
+      }
+
+      String[][] keysByLength = new String[maxKeyLength + 1][];
+      long[][] codecsByLength = new long[maxKeyLength + 1][];
+      for (Map.Entry<String, Long> entry : keyCodecs.entrySet()) {
+        int length = entry.getKey().length();
+        int index = keysByLength[length] == null ? 0 : keysByLength[length].length;
+        keysByLength[length] = Arrays.copyOf(keysByLength[length] == null ? new String[0] : keysByLength[length],
+            index + 1);
+        codecsByLength[length] = Arrays.copyOf(codecsByLength[length] == null ? new long[0] : codecsByLength[length],
+            index + 1);
+        keysByLength[length][index] = entry.getKey();
+        codecsByLength[length][index] = entry.getValue();
+      }
+      String[] prefixes = prefixCodecs.keySet().toArray(new String[0]);
+      long[] codecsByPrefix = new long[prefixes.length];
+      for (int i = 0; i < prefixes.length; i++) {
+        codecsByPrefix[i] = prefixCodecs.get(prefixes[i]);
+      }
+      return new KeyTable(declaringCodecs, keysByLength, codecsByLength, prefixes, codecsByPrefix);
+    }
+
+    /**
+     * @return the keys of a codec implementing {@link ExtractedKeys} or of a built-in text map codec, null for
+     *     other codecs and for the subclasses of the built-in codecs
+     */
+    private static ExtractedKeys extractedKeys(Codec<?> codec) {
+      if (codec instanceof ExtractedKeys) {
+        return (ExtractedKeys) codec;
+      }
+      Class<?> type = codec.getClass();
+      if (type == TextMapCodec.class) {
+        return ((TextMapCodec) codec).declaredKeys();
+      } else if (type == B3TextMapCodec.class) {
+        return ((B3TextMapCodec) codec).declaredKeys();
+      } else if (type == TraceContextCodec.class) {
+        return ((TraceContextCodec) codec).declaredKeys();
+      } else if (type == W3cBaggageCodec.class) {
+        return ((W3cBaggageCodec) codec).declaredKeys();
+      }
+      return null;
+    }
+
+    private static void addCodec(Map<String, Long> codecsByKey, String key, int codec) {
+      key = key.toLowerCase(Locale.ROOT);
+      Long codecs = codecsByKey.get(key);
+      codecsByKey.put(key, (codecs == null ? 0 : codecs) | (1L << codec));
+    }
+
+    boolean declaresKeys(int codec) {
+      return codec < MAX_CODECS && (declaringCodecs & (1L << codec)) != 0;
+    }
+
+    long codecsReading(String key) {
+      int length = key.length();
+      long codecs = 0;
+      if (length == 0) {
+        for (int i = 0; i < prefixes.length; i++) {
+          if (prefixes[i].isEmpty()) {
+            codecs |= prefixCodecs[i];
+          }
+        }
+        return codecs;
+      }
+      // the table is lower case, only the candidates with the same first character are compared
+      char first = Character.toLowerCase(key.charAt(0));
+      if (length < keysByLength.length && keysByLength[length] != null) {
+        String[] keys = keysByLength[length];
+        for (int i = 0; i < keys.length; i++) {
+          if (keys[i].charAt(0) == first && key.regionMatches(true, 1, keys[i], 1, length - 1)) {
+            codecs |= codecsByLength[length][i];
+          }
+        }
+      }
+      for (int i = 0; i < prefixes.length; i++) {
+        String prefix = prefixes[i];
+        if (prefix.isEmpty()
+            || (prefix.charAt(0) == first && key.regionMatches(true, 1, prefix, 1, prefix.length() - 1))) {
+          codecs |= prefixCodecs[i];
+        }
+      }
+      return codecs;
+    }
+  }
+
+  /**
+   * The entries of a carrier read by the codecs declaring their keys, seen by each codec through {@link #select}
+   * as a read-only carrier of its own entries.
+   */
+  private static final class MatchedEntries implements TextMap {
+    private List<Map.Entry<String, String>> entries;
+    private long[] codecs;
+    private int count;
+    private long matchedCodecs;
+    private long selected;
+
+    void add(Map.Entry<String, String> entry, long entryCodecs) {
+      if (entries == null) {
+        // a few keys in most carriers
+        entries = new ArrayList<Map.Entry<String, String>>(4);
+        codecs = new long[4];
+      } else if (count == codecs.length) {
+        codecs = Arrays.copyOf(codecs, 2 * count);
+      }
+      entries.add(entry);
+      codecs[count++] = entryCodecs;
+      matchedCodecs |= entryCodecs;
+    }
+
+    /**
+     * @return false if the carrier holds none of the keys of the codec
+     */
+    boolean select(int codec) {
+      selected = 1L << codec;
+      return (matchedCodecs & selected) != 0;
+    }
+
+    @Override
+    public Iterator<Map.Entry<String, String>> iterator() {
+      return new Iterator<Map.Entry<String, String>>() {
+        private int next = nextSelected(0);
+
+        private int nextSelected(int index) {
+          while (index < count && (codecs[index] & selected) == 0) {
+            index++;
+          }
+          return index;
+        }
+
+        @Override
+        public boolean hasNext() {
+          return next < count;
+        }
+
+        @Override
+        public Map.Entry<String, String> next() {
+          if (next >= count) {
+            throw new NoSuchElementException();
+          }
+          Map.Entry<String, String> entry = entries.get(next);
+          next = nextSelected(next + 1);
+          return entry;
+        }
+
+        @Override
+        public void remove() {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+
+    @Override
+    public void put(String key, String value) {
+      throw new UnsupportedOperationException("The carrier is read-only during extraction");
+    }
+  }
 }
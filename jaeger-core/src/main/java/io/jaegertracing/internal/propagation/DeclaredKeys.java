@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.propagation;
+
+import java.util.Collection;
+
+/**
+ * The keys read by a built-in text map codec. {@link CompositeCodec} only uses them for the codec classes
+ * themselves, not for their subclasses.
+ */
+final class DeclaredKeys implements ExtractedKeys {
+  private final Collection<String> keys;
+  private final Collection<String> prefixes;
+
+  DeclaredKeys(Collection<String> keys, Collection<String> prefixes) {
+    this.keys = keys;
+    this.prefixes = prefixes;
+  }
+
+  @Override
+  public Collection<String> extractedKeys() {
+    return keys;
+  }
+
+  @Override
+  public Collection<String> extractedKeyPrefixes() {
+    return prefixes;
+  }
+}
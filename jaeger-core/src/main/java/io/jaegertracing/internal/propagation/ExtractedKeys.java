@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.propagation;
+
+import java.util.Collection;
+
+/**
+ * Implemented by the text map codecs which declare the keys they extract, so that {@link CompositeCodec} can walk
+ * a carrier once and hand each codec only its entries.
+ *
+ * <p>Keys and prefixes are compared ignoring case. The codec must return null when the carrier holds none of its
+ * keys. The codec only sees the keys it declares, so a codec implementing this interface should be final: a
+ * subclass reading more keys in {@code extract} would not find them.
+ */
+public interface ExtractedKeys {
+
+  /**
+   * @return the keys read by the codec
+   */
+  Collection<String> extractedKeys();
+
+  /**
+   * @return the prefixes of the keys read by the codec, like the prefix of the baggage keys
+   */
+  Collection<String> extractedKeyPrefixes();
+}
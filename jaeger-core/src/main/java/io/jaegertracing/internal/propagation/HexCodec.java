@@ -18,7 +18,7 @@ import lombok.extern.slf4j.Slf4j;
 
 // copy/pasted from brave.internal.HexCodec 4.1.1 to avoid build complexity
 @Slf4j
-final class HexCodec {
+public final class HexCodec {
 
   /**
    * Parses a 1 to 32 character lower-hex string with no prefix into an unsigned long, tossing any
@@ -77,10 +77,38 @@ final class HexCodec {
     return result;
   }
 
+  /**
+   * @return true if the characters from {@code index} to {@code endIndex} are all lower-hex digits
+   */
+  static boolean isLowerHex(String value, int index, int endIndex) {
+    for (; index < endIndex; index++) {
+      char c = value.charAt(index);
+      if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses up to 16 lower-hex digits, checked beforehand with {@link #isLowerHex}, into an unsigned long.
+   * Unlike {@link #hexToUnsignedLong} the result is not boxed.
+   *
+   * @return a 64 bit long, meaning that negative values are the overflow of Java's 32 bit long
+   */
+  static long lowerHexToLong(String lowerHex, int index, int endIndex) {
+    long result = 0;
+    for (; index < endIndex; index++) {
+      char c = lowerHex.charAt(index);
+      result = (result << 4) | (c <= '9' ? c - '0' : c - 'a' + 10);
+    }
+    return result;
+  }
+
   /**
    * Returns 16 or 32 character hex string depending on if {@code high} is zero.
    */
-  static String toLowerHex(long high, long low) {
+  public static String toLowerHex(long high, long low) {
     char[] result = new char[high != 0 ? 32 : 16];
     int pos = 0;
     if (high != 0) {
@@ -94,7 +122,7 @@ final class HexCodec {
   /**
    * Inspired by {@code okio.Buffer.writeLong}
    */
-  static String toLowerHex(long v) {
+  public static String toLowerHex(long v) {
     char[] data = new char[16];
     writeHexLong(data, 0, v);
     return new String(data);
@@ -103,7 +131,7 @@ final class HexCodec {
   /**
    * Inspired by {@code okio.Buffer.writeLong}
    */
-  static void writeHexLong(char[] data, int pos, long v) {
+  public static void writeHexLong(char[] data, int pos, long v) {
     writeHexByte(data, pos + 0, (byte) ((v >>> 56L) & 0xff));
     writeHexByte(data, pos + 2, (byte) ((v >>> 48L) & 0xff));
     writeHexByte(data, pos + 4, (byte) ((v >>> 40L) & 0xff));
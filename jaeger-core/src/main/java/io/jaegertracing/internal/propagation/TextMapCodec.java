@@ -28,6 +28,8 @@ import io.opentracing.propagation.TextMap;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -48,10 +50,18 @@ public class TextMapCodec implements Codec<TextMap> {
 
   private static final PrefixedKeys keys = new PrefixedKeys();
 
+  // the lower case first characters of the keys extract looks for, most keys of a carrier match none of them
+  private static final char DEBUG_ID_FIRST_CHAR = firstCharLowerCase(Constants.DEBUG_ID_HEADER_KEY);
+  private static final char BAGGAGE_HEADER_FIRST_CHAR = firstCharLowerCase(Constants.BAGGAGE_HEADER_KEY);
+
   private final String contextKey;
 
+  private final char contextKeyFirstChar;
+
   private final String baggagePrefix;
 
+  private final char baggagePrefixFirstChar;
+
   private final boolean urlEncoding;
 
   /**
@@ -66,7 +76,9 @@ public class TextMapCodec implements Codec<TextMap> {
   private TextMapCodec(Builder builder) {
     this.urlEncoding = builder.urlEncoding;
     this.contextKey = builder.spanContextKey;
+    this.contextKeyFirstChar = firstCharLowerCase(contextKey);
     this.baggagePrefix = builder.baggagePrefix;
+    this.baggagePrefixFirstChar = firstCharLowerCase(baggagePrefix);
     this.objectFactory = builder.objectFactory;
   }
 
@@ -152,8 +164,8 @@ public class TextMapCodec implements Codec<TextMap> {
 
   @Override
   public void inject(JaegerSpanContext spanContext, TextMap carrier) {
-    carrier.put(contextKey, contextAsString(spanContext));
-    for (Map.Entry<String, String> entry : spanContext.baggageItems()) {
+    carrier.put(contextKey, spanContext.getContextAsString());
+    for (Map.Entry<String, String> entry : spanContext.baggageItemsView()) {
       carrier.put(keys.prefixedKey(entry.getKey(), baggagePrefix), encodedValue(entry.getValue()));
     }
   }
@@ -165,16 +177,22 @@ public class TextMapCodec implements Codec<TextMap> {
     String debugId = null;
     for (Map.Entry<String, String> entry : carrier) {
       String key = entry.getKey();
-      if (key.equalsIgnoreCase(contextKey)) {
+      if (key.isEmpty()) {
+        continue;
+      }
+      // dispatch on the first character and the length, so other keys are skipped without comparing them
+      char first = Character.toLowerCase(key.charAt(0));
+      if (first == contextKeyFirstChar && matchesIgnoreCase(key, contextKey)) {
         context = contextFromString(decodedValue(entry.getValue()));
-      } else if (key.equalsIgnoreCase(Constants.DEBUG_ID_HEADER_KEY)) {
+      } else if (first == DEBUG_ID_FIRST_CHAR && matchesIgnoreCase(key, Constants.DEBUG_ID_HEADER_KEY)) {
         debugId = decodedValue(entry.getValue());
-      } else if (key.regionMatches(true, 0, baggagePrefix, 0, baggagePrefix.length())) {
+      } else if ((first == baggagePrefixFirstChar || baggagePrefix.isEmpty())
+          && key.regionMatches(true, 0, baggagePrefix, 0, baggagePrefix.length())) {
         if (baggage == null) {
           baggage = new HashMap<>();
         }
-        baggage.put(keys.unprefixedKey(key.toLowerCase(Locale.ROOT), baggagePrefix), decodedValue(entry.getValue()));
-      } else if (key.equalsIgnoreCase(Constants.BAGGAGE_HEADER_KEY)) {
+        baggage.put(unprefixedLowerCaseKey(key, baggagePrefix.length()), decodedValue(entry.getValue()));
+      } else if (first == BAGGAGE_HEADER_FIRST_CHAR && matchesIgnoreCase(key, Constants.BAGGAGE_HEADER_KEY)) {
         baggage = parseBaggageHeader(decodedValue(entry.getValue()), baggage);
       }
     }
@@ -191,21 +209,87 @@ public class TextMapCodec implements Codec<TextMap> {
       debugId);
   }
 
+  DeclaredKeys declaredKeys() {
+    return new DeclaredKeys(Arrays.asList(contextKey, Constants.DEBUG_ID_HEADER_KEY, Constants.BAGGAGE_HEADER_KEY),
+        Collections.singletonList(baggagePrefix));
+  }
+
+  private static char firstCharLowerCase(String key) {
+    // no key extract looks for starts with this noncharacter, an empty prefix is handled separately
+    return key.isEmpty() ? '\uffff' : Character.toLowerCase(key.charAt(0));
+  }
+
+  private static boolean matchesIgnoreCase(String key, String expected) {
+    return key.length() == expected.length() && key.regionMatches(true, 0, expected, 0, expected.length());
+  }
+
+  /*
+   * Baggage keys are lower case, the key is only lower cased when it is not already.
+   */
+  private static String unprefixedLowerCaseKey(String key, int prefixLength) {
+    for (int i = prefixLength; i < key.length(); i++) {
+      char c = key.charAt(i);
+      if (Character.toLowerCase(c) != c) {
+        return key.substring(prefixLength).toLowerCase(Locale.ROOT);
+      }
+    }
+    return key.substring(prefixLength);
+  }
+
+  /*
+   * Parses comma separated key=value pairs, ignoring the whitespace around keys and values.
+   */
   private Map<String, String> parseBaggageHeader(String header, Map<String, String> baggage) {
-    for (String part : header.split("\\s*,\\s*")) {
-      String[] kv = part.split("\\s*=\\s*");
-      if (kv.length == 2) {
-        if (baggage == null) {
-          baggage = new HashMap<String, String>();
-        }
-        baggage.put(kv[0], kv[1]);
+    int length = header.length();
+    int start = 0;
+    while (start < length) {
+      int end = header.indexOf(',', start);
+      if (end == -1) {
+        end = length;
+      }
+      int separator = header.indexOf('=', start);
+      if (separator == -1 || separator >= end) {
+        logMalformedBaggageItem(header, start, end);
       } else {
-        log.debug("malformed token in {} header: {}", Constants.BAGGAGE_HEADER_KEY, part);
+        int keyStart = skipWhitespace(header, start, separator);
+        int keyEnd = trimWhitespace(header, keyStart, separator);
+        int valueStart = skipWhitespace(header, separator + 1, end);
+        int valueEnd = trimWhitespace(header, valueStart, end);
+        int nextSeparator = header.indexOf('=', separator + 1);
+        if (keyStart == keyEnd || valueStart == valueEnd || (nextSeparator != -1 && nextSeparator < end)) {
+          logMalformedBaggageItem(header, start, end);
+        } else {
+          if (baggage == null) {
+            baggage = new HashMap<String, String>();
+          }
+          baggage.put(header.substring(keyStart, keyEnd), header.substring(valueStart, valueEnd));
+        }
       }
+      start = end + 1;
     }
     return baggage;
   }
 
+  private static int skipWhitespace(String value, int start, int end) {
+    while (start < end && value.charAt(start) <= ' ') {
+      start++;
+    }
+    return start;
+  }
+
+  private static int trimWhitespace(String value, int start, int end) {
+    while (end > start && value.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    return end;
+  }
+
+  private static void logMalformedBaggageItem(String header, int start, int end) {
+    if (log.isDebugEnabled()) {
+      log.debug("malformed token in {} header: {}", Constants.BAGGAGE_HEADER_KEY, header.substring(start, end));
+    }
+  }
+
   @Override
   public String toString() {
     StringBuilder buffer = new StringBuilder();
@@ -236,7 +320,8 @@ public class TextMapCodec implements Codec<TextMap> {
   }
 
   private String decodedValue(String value) {
-    if (!urlEncoding) {
+    // only escapes and '+', which stands for a space, need decoding
+    if (!urlEncoding || (value.indexOf('%') == -1 && value.indexOf('+') == -1)) {
       return value;
     }
     try {
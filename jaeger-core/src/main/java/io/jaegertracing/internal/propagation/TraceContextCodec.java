@@ -21,13 +21,15 @@ import io.jaegertracing.internal.JaegerObjectFactory;
 import io.jaegertracing.internal.JaegerSpanContext;
 import io.jaegertracing.spi.Codec;
 import io.opentracing.propagation.TextMap;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementation of the TraceContext propagation protocol. See <a
- * href=https://github.com/w3c/distributed-tracing>w3c/distributed-tracing</a>.
+ * href=https://github.com/w3c/distributed-tracing>w3c/distributed-tracing</a>. The baggage is propagated in the
+ * W3C {@code baggage} header, see {@link W3cBaggageCodec}.
  *
  * This implementation is mostly copied over from OpenTelemetry Java SDK
  * https://github.com/open-telemetry/opentelemetry-java/blob/ed98c35c0569a48f66339769913670334d6c8a95/api/src/main/java/io/opentelemetry/trace/propagation/HttpTraceContext.java#L40
@@ -39,6 +41,7 @@ public class TraceContextCodec implements Codec<TextMap> {
   static final String TRACE_STATE = "tracestate";
 
   private static final String VERSION = "00";
+  private static final String INVALID_VERSION = "ff";
   private static final int VERSION_SIZE = 2;
   private static final char TRACEPARENT_DELIMITER = '-';
   private static final int TRACEPARENT_DELIMITER_SIZE = 1;
@@ -59,33 +62,19 @@ public class TraceContextCodec implements Codec<TextMap> {
     this.objectFactory = builder.objectFactory;
   }
 
-  private JaegerSpanContext extractContextFromTraceParent(String traceparent, String tracestate, String debugId) {
-    // TODO(bdrutu): Do we need to verify that version is hex and that
-    // for the version the length is the expected one?
-    boolean isValid =
-        traceparent != null
-        && traceparent.charAt(TRACE_OPTION_OFFSET - 1) == TRACEPARENT_DELIMITER
-            && (traceparent.length() == TRACEPARENT_HEADER_SIZE
-                || (traceparent.length() > TRACEPARENT_HEADER_SIZE
-                    && traceparent.charAt(TRACEPARENT_HEADER_SIZE) == TRACEPARENT_DELIMITER))
-            && traceparent.charAt(SPAN_ID_OFFSET - 1) == TRACEPARENT_DELIMITER
-            && traceparent.charAt(TRACE_OPTION_OFFSET - 1) == TRACEPARENT_DELIMITER;
-    if (!isValid) {
+  private JaegerSpanContext extractContextFromTraceParent(String traceparent, String tracestate,
+      Map<String, String> baggage, String debugId) {
+    if (!isValidTraceParent(traceparent)) {
       log.warn("Unparseable traceparent header. Returning null span context.");
       return null;
     }
 
-    Long traceIdHigh = HexCodec.hexToUnsignedLong(traceparent, TRACE_ID_OFFSET, TRACE_ID_OFFSET + 16);
-    Long traceIdLow = HexCodec.hexToUnsignedLong(traceparent, TRACE_ID_OFFSET + 16, TRACE_ID_OFFSET + 32);
-    Long spanId = HexCodec.hexToUnsignedLong(traceparent, SPAN_ID_OFFSET, SPAN_ID_OFFSET + 16);
+    long traceIdHigh = HexCodec.lowerHexToLong(traceparent, TRACE_ID_OFFSET, TRACE_ID_OFFSET + 16);
+    long traceIdLow = HexCodec.lowerHexToLong(traceparent, TRACE_ID_OFFSET + 16, TRACE_ID_OFFSET + 32);
+    long spanId = HexCodec.lowerHexToLong(traceparent, SPAN_ID_OFFSET, SPAN_ID_OFFSET + 16);
+    long traceContextFlags = HexCodec.lowerHexToLong(traceparent, TRACE_OPTION_OFFSET, TRACE_OPTION_OFFSET + 2);
 
-    boolean sampled = false;
-    long traceContextFlags = HexCodec.hexToUnsignedLong(traceparent, TRACE_OPTION_OFFSET, TRACE_OPTION_OFFSET + 2);
-    if ((traceContextFlags & SAMPLED_FLAG) == SAMPLED_FLAG) {
-      sampled = true;
-    }
-
-    if (traceIdLow == null || traceIdLow == 0 || spanId == null || spanId == 0) {
+    if ((traceIdHigh == 0 && traceIdLow == 0) || spanId == 0) {
       log.warn("Unparseable traceparent header. Returning null span context.");
       return null;
     }
@@ -95,9 +84,36 @@ public class TraceContextCodec implements Codec<TextMap> {
         traceIdLow,
         spanId,
         0,
-        sampled ? (byte) 1 : (byte) 0,
-        Collections.<String, String>emptyMap(), debugId);
-    return spanContext.withTraceState(tracestate);
+        (traceContextFlags & SAMPLED_FLAG) == SAMPLED_FLAG ? (byte) 1 : (byte) 0,
+        baggage, debugId);
+    TraceState traceState = TraceState.fromHeader(tracestate);
+    return traceState == null ? spanContext : spanContext.withTraceState(traceState);
+  }
+
+  /**
+   * Checks the layout of the header, and that the version, ids and flags are lower-hex. The version {@code ff} is
+   * invalid, and the header of version {@code 00} must not have any trailing field.
+   */
+  private static boolean isValidTraceParent(String traceparent) {
+    if (traceparent == null || traceparent.length() < TRACEPARENT_HEADER_SIZE
+        || !HexCodec.isLowerHex(traceparent, 0, VERSION_SIZE)
+        || traceparent.charAt(TRACE_ID_OFFSET - 1) != TRACEPARENT_DELIMITER
+        || traceparent.charAt(SPAN_ID_OFFSET - 1) != TRACEPARENT_DELIMITER
+        || traceparent.charAt(TRACE_OPTION_OFFSET - 1) != TRACEPARENT_DELIMITER) {
+      return false;
+    }
+    if (traceparent.startsWith(VERSION)) {
+      if (traceparent.length() != TRACEPARENT_HEADER_SIZE) {
+        return false;
+      }
+    } else if (traceparent.startsWith(INVALID_VERSION)
+        || (traceparent.length() > TRACEPARENT_HEADER_SIZE
+            && traceparent.charAt(TRACEPARENT_HEADER_SIZE) != TRACEPARENT_DELIMITER)) {
+      return false;
+    }
+    return HexCodec.isLowerHex(traceparent, TRACE_ID_OFFSET, TRACE_ID_OFFSET + TRACE_ID_HEX_SIZE)
+        && HexCodec.isLowerHex(traceparent, SPAN_ID_OFFSET, SPAN_ID_OFFSET + SPAN_ID_HEX_SIZE)
+        && HexCodec.isLowerHex(traceparent, TRACE_OPTION_OFFSET, TRACE_OPTION_OFFSET + TRACE_FLAGS_HEX_SIZE);
   }
 
   @Override
@@ -105,6 +121,7 @@ public class TraceContextCodec implements Codec<TextMap> {
     String traceParent = null;
     String traceState = null;
     String debugId = null;
+    Map<String, String> baggage = null;
     for (Map.Entry<String, String> entry: carrier) {
       if (TRACE_PARENT.equalsIgnoreCase(entry.getKey())) {
         traceParent = entry.getValue();
@@ -115,18 +132,50 @@ public class TraceContextCodec implements Codec<TextMap> {
       if (Constants.DEBUG_ID_HEADER_KEY.equalsIgnoreCase(entry.getKey())) {
         debugId = entry.getValue();
       }
+      if (W3cBaggageCodec.BAGGAGE.equalsIgnoreCase(entry.getKey())) {
+        baggage = W3cBaggageCodec.fromHeader(entry.getValue());
+      }
     }
     if (traceParent == null) {
+      // baggage alone must not shadow the context a later codec of a CompositeCodec would extract
       if (debugId != null) {
-        return objectFactory.createSpanContext(0L, 0L, 0L, 0L, (byte) 0, null, debugId);
+        return objectFactory.createSpanContext(0L, 0L, 0L, 0L, (byte) 0, baggage, debugId);
       }
       return null;
     }
-    return extractContextFromTraceParent(traceParent, traceState, debugId);
+    return extractContextFromTraceParent(traceParent, traceState, baggage, debugId);
   }
 
   @Override
   public void inject(JaegerSpanContext spanContext, TextMap carrier) {
+    carrier.put(TRACE_PARENT, spanContext.getTraceParent());
+
+    TraceState traceState = spanContext.getTraceStateList();
+    if (traceState != null) {
+      // the header as received, unless the list was modified
+      String header = traceState.toString();
+      if (!header.isEmpty()) {
+        carrier.put(TRACE_STATE, header);
+      }
+    }
+
+    String baggageHeader = spanContext.getBaggageHeader();
+    if (!baggageHeader.isEmpty()) {
+      carrier.put(W3cBaggageCodec.BAGGAGE, baggageHeader);
+    }
+  }
+
+  DeclaredKeys declaredKeys() {
+    return new DeclaredKeys(
+        Arrays.asList(TRACE_PARENT, TRACE_STATE, Constants.DEBUG_ID_HEADER_KEY, W3cBaggageCodec.BAGGAGE),
+        Collections.<String>emptyList());
+  }
+
+  /**
+   * Encodes the context as a {@code traceparent} header, see {@link JaegerSpanContext#getTraceParent()} for the
+   * cached value.
+   */
+  public static String traceParent(JaegerSpanContext spanContext) {
     char[] chars = new char[TRACEPARENT_HEADER_SIZE];
     chars[0] = VERSION.charAt(0);
     chars[1] = VERSION.charAt(1);
@@ -138,11 +187,7 @@ public class TraceContextCodec implements Codec<TextMap> {
     chars[TRACE_OPTION_OFFSET - 1] = TRACEPARENT_DELIMITER;
     chars[TRACE_OPTION_OFFSET] = '0';
     chars[TRACE_OPTION_OFFSET + 1] = spanContext.isSampled() ? '1' : '0';
-    carrier.put(TRACE_PARENT, new String(chars));
-
-    if (spanContext.getTraceState() != null && !spanContext.getTraceState().isEmpty()) {
-      carrier.put(TRACE_STATE, spanContext.getTraceState());
-    }
+    return new String(chars);
   }
 
   public static class Builder {
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.propagation;
+
+/**
+ * The list of vendor entries of a W3C {@code tracestate} header, see
+ * <a href="https://www.w3.org/TR/trace-context/#tracestate-header">the specification</a>.
+ *
+ * <p>Instances are immutable. The header received from upstream is kept as is and only parsed if one of its
+ * members is read or modified, so a context which only forwards it does no work. The header of a modified list
+ * is built once, on first use, and shared by the following injections.
+ *
+ * <p>Parsing is lenient: members which are not valid, and members repeating an earlier key, are dropped.
+ * {@link #put} rejects invalid keys and values.
+ */
+public final class TraceState {
+  /**
+   * The maximum number of members of the list, the oldest are dropped when {@link #put} adds more.
+   */
+  public static final int MAX_MEMBERS = 32;
+  private static final int MAX_KEY_LENGTH = 256;
+  private static final int MAX_TENANT_ID_LENGTH = 241;
+  private static final int MAX_SYSTEM_ID_LENGTH = 14;
+  private static final int MAX_VALUE_LENGTH = 256;
+
+  private static final String[] NO_MEMBERS = new String[0];
+  private static final TraceState EMPTY = new TraceState(null, NO_MEMBERS);
+
+  // each one is computed from the other when first needed, possibly by several threads at once: they compute equal
+  // values, and the volatile writes publish the members array only once it is filled
+  private volatile String header;
+  // the keys and values, alternately, the most recently updated first
+  private volatile String[] members;
+
+  private TraceState(String header, String[] members) {
+    this.header = header;
+    this.members = members;
+  }
+
+  /**
+   * @return the empty list, to start from when adding the first member
+   */
+  public static TraceState empty() {
+    return EMPTY;
+  }
+
+  /**
+   * @param header the value of a {@code tracestate} header
+   * @return the list of the members of the header, parsed on first access; null if the header is null or empty
+   */
+  public static TraceState fromHeader(String header) {
+    if (header == null || header.isEmpty()) {
+      return null;
+    }
+    return new TraceState(header, null);
+  }
+
+  /**
+   * @return the value of the member with the given key, null if there is none
+   */
+  public String get(String key) {
+    String[] members = members();
+    int index = indexOf(members, members.length, key);
+    return index < 0 ? null : members[index + 1];
+  }
+
+  /**
+   * @return the number of members of the list
+   */
+  public int size() {
+    return members().length / 2;
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Adds or updates a member. As required by the specification, the member is moved to the start of the list.
+   *
+   * @param key a key as defined by the specification, like {@code jaeger} or {@code tenant@jaeger}
+   * @param value a value of 1 to 256 printable ASCII characters, except {@code ,} and {@code =}, which does
+   *     not end with a space
+   * @return the updated list
+   * @throws IllegalArgumentException if the key or the value are not valid
+   */
+  public TraceState put(String key, String value) {
+    if (key == null || !isValidKey(key, 0, key.length())) {
+      throw new IllegalArgumentException("Invalid tracestate key: " + key);
+    }
+    if (value == null || !isValidValue(value, 0, value.length())) {
+      throw new IllegalArgumentException("Invalid tracestate value: " + value);
+    }
+    String[] members = members();
+    int existing = indexOf(members, members.length, key);
+    if (existing == 0 && members[1].equals(value)) {
+      return this;
+    }
+    int kept = existing >= 0 ? members.length - 2 : Math.min(members.length, 2 * (MAX_MEMBERS - 1));
+    String[] updated = new String[kept + 2];
+    updated[0] = key;
+    updated[1] = value;
+    if (existing < 0) {
+      System.arraycopy(members, 0, updated, 2, kept);
+    } else {
+      System.arraycopy(members, 0, updated, 2, existing);
+      System.arraycopy(members, existing + 2, updated, existing + 2, members.length - existing - 2);
+    }
+    return new TraceState(null, updated);
+  }
+
+  /**
+   * @return the list without the member with the given key
+   */
+  public TraceState remove(String key) {
+    String[] members = members();
+    int existing = indexOf(members, members.length, key);
+    if (existing < 0) {
+      return this;
+    }
+    String[] updated = new String[members.length - 2];
+    System.arraycopy(members, 0, updated, 0, existing);
+    System.arraycopy(members, existing + 2, updated, existing, members.length - existing - 2);
+    return new TraceState(null, updated);
+  }
+
+  /**
+   * @return the value of the {@code tracestate} header, as received if the list was not modified
+   */
+  @Override
+  public String toString() {
+    String header = this.header;
+    if (header == null) {
+      header = buildHeader(members);
+      this.header = header;
+    }
+    return header;
+  }
+
+  private String[] members() {
+    String[] members = this.members;
+    if (members == null) {
+      members = parse(header);
+      this.members = members;
+    }
+    return members;
+  }
+
+  private static String buildHeader(String[] members) {
+    if (members.length == 0) {
+      return "";
+    }
+    int length = members.length - 1;
+    for (String member : members) {
+      length += member.length();
+    }
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < members.length; i += 2) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      builder.append(members[i]).append('=').append(members[i + 1]);
+    }
+    return builder.toString();
+  }
+
+  private static String[] parse(String header) {
+    String[] members = null;
+    int count = 0;
+    int length = header.length();
+    int start = 0;
+    while (start <= length && count < 2 * MAX_MEMBERS) {
+      int end = header.indexOf(',', start);
+      if (end < 0) {
+        end = length;
+      }
+      // skip the optional white space around the member
+      int memberStart = start;
+      while (memberStart < end && isWhiteSpace(header.charAt(memberStart))) {
+        memberStart++;
+      }
+      int memberEnd = end;
+      while (memberEnd > memberStart && isWhiteSpace(header.charAt(memberEnd - 1))) {
+        memberEnd--;
+      }
+      int equals = header.indexOf('=', memberStart);
+      if (equals > memberStart && equals < memberEnd
+          && isValidKey(header, memberStart, equals) && isValidValue(header, equals + 1, memberEnd)) {
+        String key = header.substring(memberStart, equals);
+        if (members == null) {
+          members = new String[4];
+        } else if (count == members.length) {
+          String[] grown = new String[Math.min(2 * members.length, 2 * MAX_MEMBERS)];
+          System.arraycopy(members, 0, grown, 0, count);
+          members = grown;
+        }
+        if (indexOf(members, count, key) < 0) {
+          members[count++] = key;
+          members[count++] = header.substring(equals + 1, memberEnd);
+        }
+      }
+      start = end + 1;
+    }
+    if (members == null) {
+      return NO_MEMBERS;
+    }
+    if (count < members.length) {
+      String[] trimmed = new String[count];
+      System.arraycopy(members, 0, trimmed, 0, count);
+      members = trimmed;
+    }
+    return members;
+  }
+
+  private static int indexOf(String[] members, int count, String key) {
+    for (int i = 0; i < count; i += 2) {
+      if (members[i].equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isWhiteSpace(char c) {
+    return c == ' ' || c == '\t';
+  }
+
+  static boolean isValidKey(String key, int start, int end) {
+    int length = end - start;
+    if (length == 0 || length > MAX_KEY_LENGTH) {
+      return false;
+    }
+    int at = -1;
+    for (int i = start; i < end; i++) {
+      char c = key.charAt(i);
+      if (c == '@') {
+        if (at >= 0) {
+          return false;
+        }
+        at = i;
+      } else if (!isKeyChar(c)) {
+        return false;
+      }
+    }
+    if (at < 0) {
+      return isLowerCaseAlpha(key.charAt(start));
+    }
+    // multi-tenant key: tenant-id@system-id
+    int tenantIdLength = at - start;
+    int systemIdLength = end - at - 1;
+    return tenantIdLength > 0 && tenantIdLength <= MAX_TENANT_ID_LENGTH
+        && systemIdLength > 0 && systemIdLength <= MAX_SYSTEM_ID_LENGTH
+        && isLowerCaseAlpha(key.charAt(at + 1));
+  }
+
+  private static boolean isKeyChar(char c) {
+    return isLowerCaseAlpha(c) || (c >= '0' && c <= '9') || c == '_' || c == '-' || c == '*' || c == '/';
+  }
+
+  private static boolean isLowerCaseAlpha(char c) {
+    return c >= 'a' && c <= 'z';
+  }
+
+  static boolean isValidValue(String value, int start, int end) {
+    int length = end - start;
+    if (length == 0 || length > MAX_VALUE_LENGTH || value.charAt(end - 1) == ' ') {
+      return false;
+    }
+    for (int i = start; i < end; i++) {
+      char c = value.charAt(i);
+      if (c < ' ' || c > '~' || c == ',' || c == '=') {
+        return false;
+      }
+    }
+    return true;
+  }
+}
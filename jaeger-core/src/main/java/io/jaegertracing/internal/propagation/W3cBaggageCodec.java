@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.propagation;
+
+import io.jaegertracing.internal.Constants;
+import io.jaegertracing.internal.JaegerObjectFactory;
+import io.jaegertracing.internal.JaegerSpanContext;
+import io.jaegertracing.spi.Codec;
+import io.opentracing.propagation.TextMap;
+import java.nio.charset.Charset;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Propagates the baggage in the W3C {@code baggage} header, see
+ * <a href="https://www.w3.org/TR/baggage/">the specification</a>. {@link TraceContextCodec} uses it to propagate
+ * the baggage along with the trace context. On its own the codec has no trace context to extract, so like
+ * {@link TraceContextCodec} without a {@code traceparent} header, it only extracts the baggage along with a
+ * {@code jaeger-debug-id} header, and does not shadow the codecs after it in a {@link CompositeCodec}.
+ *
+ * <p>The extracted header is decoded on first access to the baggage, and injected again as is while the baggage
+ * is not modified, so a service which only forwards the baggage does not pay for it. Members beyond the limits of
+ * the specification, {@value #MAX_MEMBERS} members and {@value #MAX_HEADER_LENGTH} bytes, are dropped, and the
+ * properties of the members are ignored.
+ */
+public class W3cBaggageCodec implements Codec<TextMap> {
+
+  static final String BAGGAGE = "baggage";
+  static final int MAX_MEMBERS = 180;
+  static final int MAX_HEADER_LENGTH = 8192;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  private final JaegerObjectFactory objectFactory;
+
+  private W3cBaggageCodec(Builder builder) {
+    this.objectFactory = builder.objectFactory;
+  }
+
+  @Override
+  public void inject(JaegerSpanContext spanContext, TextMap carrier) {
+    String header = spanContext.getBaggageHeader();
+    if (!header.isEmpty()) {
+      carrier.put(BAGGAGE, header);
+    }
+  }
+
+  @Override
+  public JaegerSpanContext extract(TextMap carrier) {
+    String header = null;
+    String debugId = null;
+    for (Map.Entry<String, String> entry : carrier) {
+      if (BAGGAGE.equalsIgnoreCase(entry.getKey())) {
+        header = entry.getValue();
+      }
+      if (Constants.DEBUG_ID_HEADER_KEY.equalsIgnoreCase(entry.getKey())) {
+        debugId = entry.getValue();
+      }
+    }
+    // baggage alone must not shadow the context a later codec of a CompositeCodec would extract
+    if (debugId == null) {
+      return null;
+    }
+    return objectFactory.createSpanContext(0L, 0L, 0L, 0L, (byte) 0, fromHeader(header), debugId);
+  }
+
+  DeclaredKeys declaredKeys() {
+    return new DeclaredKeys(Arrays.asList(BAGGAGE, Constants.DEBUG_ID_HEADER_KEY), Collections.<String>emptyList());
+  }
+
+  /**
+   * @param header the value of a {@code baggage} header
+   * @return the baggage of the header, decoded on first access; null if the header is null or empty
+   */
+  public static Map<String, String> fromHeader(String header) {
+    if (header == null || header.isEmpty()) {
+      return null;
+    }
+    return new HeaderBaggage(header);
+  }
+
+  /**
+   * Encodes the baggage as a {@code baggage} header, see {@link JaegerSpanContext#getBaggageHeader()} for the
+   * cached value.
+   *
+   * @return the header the baggage was extracted from if it is within the limits, otherwise the encoded baggage;
+   *     empty if there is no baggage
+   */
+  public static String baggageHeader(Map<String, String> baggage) {
+    if (baggage instanceof HeaderBaggage && ((HeaderBaggage) baggage).withinLimits) {
+      return ((HeaderBaggage) baggage).header;
+    }
+    if (baggage.isEmpty()) {
+      return "";
+    }
+    StringBuilder builder = new StringBuilder();
+    int members = 0;
+    for (Map.Entry<String, String> entry : baggage.entrySet()) {
+      String key = entry.getKey();
+      if (!isToken(key, 0, key.length())) {
+        continue;
+      }
+      int memberStart = builder.length();
+      if (memberStart > 0) {
+        builder.append(',');
+      }
+      builder.append(key).append('=');
+      appendEncoded(builder, entry.getValue());
+      // a member which does not fit is dropped as a whole
+      if (builder.length() > MAX_HEADER_LENGTH) {
+        builder.setLength(memberStart);
+      } else if (++members == MAX_MEMBERS) {
+        break;
+      }
+    }
+    return builder.toString();
+  }
+
+  private static void appendEncoded(StringBuilder builder, String value) {
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (isBaggageOctet(c) && c != '%') {
+        builder.append(c);
+      } else if (c < 0x80) {
+        appendEscaped(builder, c);
+      } else {
+        // rare enough not to bother encoding without allocating
+        int end = Character.isHighSurrogate(c) && i + 1 < length ? i + 2 : i + 1;
+        for (byte b : value.substring(i, end).getBytes(UTF_8)) {
+          appendEscaped(builder, b & 0xff);
+        }
+        i = end - 1;
+      }
+    }
+  }
+
+  private static void appendEscaped(StringBuilder builder, int b) {
+    builder.append('%').append(HEX_DIGITS[b >> 4]).append(HEX_DIGITS[b & 0xf]);
+  }
+
+  private static boolean isBaggageOctet(char c) {
+    return c > ' ' && c <= '~' && c != '"' && c != ',' && c != ';' && c != '\\';
+  }
+
+  private static boolean isToken(String value, int start, int end) {
+    if (start == end) {
+      return false;
+    }
+    for (int i = start; i < end; i++) {
+      char c = value.charAt(i);
+      boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+          || "!#$%&'*+-.^_`|~".indexOf(c) >= 0;
+      if (!valid) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isWhiteSpace(char c) {
+    return c == ' ' || c == '\t';
+  }
+
+  /**
+   * Parses the members of the header, dropping the invalid ones and the ones beyond the limits.
+   */
+  static Map<String, String> parse(String header) {
+    Map<String, String> baggage = new HashMap<String, String>();
+    int length = header.length();
+    int bytes = 0;
+    int start = 0;
+    while (start < length && baggage.size() < MAX_MEMBERS) {
+      int end = header.indexOf(',', start);
+      if (end < 0) {
+        end = length;
+      }
+      bytes += end - start + (start > 0 ? 1 : 0);
+      if (bytes > MAX_HEADER_LENGTH) {
+        break;
+      }
+      // the properties of the member, after a ';', are ignored
+      int valueEnd = header.indexOf(';', start);
+      if (valueEnd < 0 || valueEnd > end) {
+        valueEnd = end;
+      }
+      int equals = header.indexOf('=', start);
+      if (equals > start && equals < valueEnd) {
+        int keyStart = start;
+        while (keyStart < equals && isWhiteSpace(header.charAt(keyStart))) {
+          keyStart++;
+        }
+        int keyEnd = equals;
+        while (keyEnd > keyStart && isWhiteSpace(header.charAt(keyEnd - 1))) {
+          keyEnd--;
+        }
+        int valueStart = equals + 1;
+        while (valueStart < valueEnd && isWhiteSpace(header.charAt(valueStart))) {
+          valueStart++;
+        }
+        while (valueEnd > valueStart && isWhiteSpace(header.charAt(valueEnd - 1))) {
+          valueEnd--;
+        }
+        if (isToken(header, keyStart, keyEnd) && isValue(header, valueStart, valueEnd)) {
+          baggage.put(header.substring(keyStart, keyEnd), decode(header, valueStart, valueEnd));
+        }
+      }
+      start = end + 1;
+    }
+    return baggage;
+  }
+
+  private static boolean isValue(String header, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (!isBaggageOctet(header.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String decode(String header, int start, int end) {
+    int percent = header.indexOf('%', start);
+    if (percent < 0 || percent >= end) {
+      return header.substring(start, end);
+    }
+    byte[] bytes = new byte[end - start];
+    int length = 0;
+    for (int i = start; i < end; i++) {
+      char c = header.charAt(i);
+      int high;
+      int low;
+      if (c == '%' && i + 2 < end
+          && (high = Character.digit(header.charAt(i + 1), 16)) >= 0
+          && (low = Character.digit(header.charAt(i + 2), 16)) >= 0) {
+        bytes[length++] = (byte) ((high << 4) | low);
+        i += 2;
+      } else {
+        // an invalid escape is kept as is
+        bytes[length++] = (byte) c;
+      }
+    }
+    return new String(bytes, 0, length, UTF_8);
+  }
+
+  /**
+   * The baggage of a received header, decoded on first access. It is read-only, like the baggage of any context.
+   */
+  private static final class HeaderBaggage extends AbstractMap<String, String> {
+    private final String header;
+    // the header can be injected as is only if nothing would be dropped when parsing it
+    private final boolean withinLimits;
+    // threads accessing it first may each decode the header, the volatile write publishes a fully built map
+    private volatile Map<String, String> decoded;
+
+    HeaderBaggage(String header) {
+      this.header = header;
+      this.withinLimits = header.length() <= MAX_HEADER_LENGTH && countMembers(header) <= MAX_MEMBERS;
+    }
+
+    private static int countMembers(String header) {
+      int members = 1;
+      for (int comma = header.indexOf(','); comma >= 0 && members <= MAX_MEMBERS;
+          comma = header.indexOf(',', comma + 1)) {
+        members++;
+      }
+      return members;
+    }
+
+    private Map<String, String> decoded() {
+      Map<String, String> decoded = this.decoded;
+      if (decoded == null) {
+        decoded = Collections.unmodifiableMap(parse(header));
+        this.decoded = decoded;
+      }
+      return decoded;
+    }
+
+    @Override
+    public String get(Object key) {
+      return decoded().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return decoded().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return decoded().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return decoded().isEmpty();
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+      return decoded().entrySet();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "W3cBaggageCodec{ObjectFactory=" + objectFactory.getClass().getName() + '}';
+  }
+
+  public static class Builder {
+    private JaegerObjectFactory objectFactory = new JaegerObjectFactory();
+
+    /**
+     * Specify JaegerSpanContext factory. Used for creating new span contexts. The default factory
+     * is an instance of {@link JaegerObjectFactory}.
+     */
+    public Builder withObjectFactory(JaegerObjectFactory objectFactory) {
+      this.objectFactory = objectFactory;
+      return this;
+    }
+
+    public W3cBaggageCodec build() {
+      return new W3cBaggageCodec(this);
+    }
+  }
+}
@@ -16,18 +16,27 @@ package io.jaegertracing.internal.reporters;
 
 import io.jaegertracing.internal.JaegerSpan;
 import io.jaegertracing.internal.exceptions.SenderException;
-import io.jaegertracing.internal.metrics.InMemoryMetricsFactory;
 import io.jaegertracing.internal.metrics.Metrics;
+import io.jaegertracing.internal.metrics.StripedMetricsFactory;
 import io.jaegertracing.internal.senders.SenderResolver;
+import io.jaegertracing.internal.utils.PeriodicScheduler;
+import io.jaegertracing.spi.AsyncSender;
+import io.jaegertracing.spi.EncodingSender;
 import io.jaegertracing.spi.Reporter;
 import io.jaegertracing.spi.Sender;
+import io.jaegertracing.spi.SpillingSender;
+import io.opentracing.tag.Tags;
+import java.io.File;
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,25 +47,95 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class RemoteReporter implements Reporter {
   private static final int DEFAULT_CLOSE_ENQUEUE_TIMEOUT_MILLIS = 1000;
+  // upper bound for how long the queue processor sleeps in ring buffer mode, in case a wake-up is missed
+  private static final long RING_BUFFER_MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  // the byte array header and the AppendEncodedCommand holding it, counted against the max queue bytes
+  private static final int ENCODED_SPAN_OVERHEAD_BYTES = 40;
+  // with the adaptive flush, how many times per flush interval the age of the sender's buffer is checked
+  private static final int ADAPTIVE_FLUSH_CHECKS_PER_INTERVAL = 4;
+  private static final long NOTHING_BUFFERED = Long.MIN_VALUE;
 
   public static final int DEFAULT_FLUSH_INTERVAL_MS = 1000;
   public static final int DEFAULT_MAX_QUEUE_SIZE = 100;
+  public static final int DEFAULT_SPILL_MAX_BYTES = 16 * 1024 * 1024;
 
   private final Sender sender;
+  // set in pre-encoding mode
+  @ToString.Exclude private final EncodingSender encodingSender;
   private final int closeEnqueueTimeout;
+  private final int maxQueueSize;
+  private final int maxQueueBytes;
+  private final int priorityQueueSize;
+  // the byte budget of priority spans, the max queue bytes plus their share of the reserved capacity
+  private final long maxPriorityQueueBytes;
+  private final boolean adaptiveFlush;
+  @ToString.Exclude private final long flushIntervalNanos;
 
   @ToString.Exclude private final BlockingQueue<Command> commandQueue;
-  @ToString.Exclude private final Timer flushTimer;
+  @ToString.Exclude private final SpanRingBuffer spanBuffer;
+  @ToString.Exclude private final PeriodicScheduler.Task flushTask;
   @ToString.Exclude private final Thread queueProcessorThread;
   @ToString.Exclude private final QueueProcessor queueProcessor;
   @ToString.Exclude private final Metrics metrics;
+  @ToString.Exclude private final SpillFile spillFile;
+  @ToString.Exclude private final ReplayCommand replayCommand = new ReplayCommand();
+  @ToString.Exclude private final AtomicBoolean replayScheduled = new AtomicBoolean();
+  @ToString.Exclude private final AtomicLong queuedBytes = new AtomicLong();
+  // spans in the command queue which are not allowed in the capacity reserved for priority spans
+  @ToString.Exclude private final AtomicInteger routineSpansQueued = new AtomicInteger();
+  // in ring buffer mode, priority spans in the command queue because the ring buffer was full
+  @ToString.Exclude private final AtomicInteger overflowSpansQueued = new AtomicInteger();
+  // set when this reporter is a lane of a ShardedReporter, which then reports the queue gauges of all lanes
+  @ToString.Exclude private volatile ShardedReporter shardedReporter;
+  @ToString.Exclude private volatile boolean encodingFailedBefore;
+  // System.nanoTime() when the sender started buffering the spans it holds, written by the queue processor
+  @ToString.Exclude private volatile long bufferedSinceNanos = NOTHING_BUFFERED;
+  @ToString.Exclude private volatile long lastFlushNanos = System.nanoTime();
 
-  private RemoteReporter(Sender sender, int flushInterval, int maxQueueSize, int closeEnqueueTimeout,
-      Metrics metrics) {
+  private RemoteReporter(Sender sender, int flushInterval, int maxQueueSize, int maxQueueBytes, int priorityQueueSize,
+      int closeEnqueueTimeout, Metrics metrics, boolean useRingBuffer, boolean preEncoding, SpillFile spillFile,
+      PeriodicScheduler scheduler, boolean adaptiveFlush) {
     this.sender = sender;
     this.metrics = metrics;
     this.closeEnqueueTimeout = closeEnqueueTimeout;
-    commandQueue = new ArrayBlockingQueue<Command>(maxQueueSize);
+    this.maxQueueSize = maxQueueSize;
+    this.maxQueueBytes = maxQueueBytes;
+    this.priorityQueueSize = priorityQueueSize;
+    this.maxPriorityQueueBytes = maxQueueSize > 0
+        ? maxQueueBytes + (long) maxQueueBytes * priorityQueueSize / maxQueueSize
+        : maxQueueBytes;
+    this.adaptiveFlush = adaptiveFlush;
+    this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushInterval);
+    if (preEncoding && !(sender instanceof EncodingSender)) {
+      log.warn("Sender {} cannot encode spans, spans are not pre-encoded", sender);
+    }
+    encodingSender = preEncoding && sender instanceof EncodingSender ? (EncodingSender) sender : null;
+    if (useRingBuffer && encodingSender != null) {
+      log.warn("Spans are pre-encoded, the ring buffer is not used");
+    }
+    spanBuffer = useRingBuffer && encodingSender == null ? new SpanRingBuffer(maxQueueSize) : null;
+    // in ring buffer mode the command queue only holds commands, and up to priorityQueueSize priority spans when
+    // the ring buffer is full
+    commandQueue = new ArrayBlockingQueue<Command>(
+        spanBuffer == null ? maxQueueSize + priorityQueueSize : Math.max(maxQueueSize, priorityQueueSize));
+    if (sender instanceof AsyncSender) {
+      ((AsyncSender) sender).setCallback(new AsyncSenderCallback());
+    }
+    if (spillFile != null && !(sender instanceof SpillingSender)) {
+      log.warn("Sender {} cannot spill failed batches, the spill file is not used", sender);
+      closeSpillFile(spillFile);
+      spillFile = null;
+    }
+    if (spillFile != null) {
+      try {
+        ((SpillingSender) sender).setSpill(new DiskSpill());
+      } catch (UnsupportedOperationException e) {
+        log.warn("Sender {} cannot spill failed batches: {}, the spill file is not used", sender, e.getMessage());
+        closeSpillFile(spillFile);
+        spillFile = null;
+      }
+    }
+    this.spillFile = spillFile;
 
     // start a thread to append spans
     queueProcessor = new QueueProcessor();
@@ -64,25 +143,126 @@ public class RemoteReporter implements Reporter {
     queueProcessorThread.setDaemon(true);
     queueProcessorThread.start();
 
-    flushTimer = new Timer("jaeger.RemoteReporter-FlushTimer", true /* isDaemon */);
-    flushTimer.schedule(
-        new TimerTask() {
+    int checkInterval = adaptiveFlush ? Math.max(1, flushInterval / ADAPTIVE_FLUSH_CHECKS_PER_INTERVAL) : flushInterval;
+    flushTask = scheduler.schedule(
+        new Runnable() {
           @Override
           public void run() {
-            flush();
+            if (adaptiveFlush) {
+              flushIfDue();
+            } else {
+              flush();
+            }
           }
         },
-        flushInterval,
-        flushInterval);
+        checkInterval,
+        checkInterval);
   }
 
   @Override
   public void report(JaegerSpan span) {
+    final boolean priority = isPriority(span);
+    // whether the span may use the capacity reserved for priority spans
+    final boolean reserved = priority && priorityQueueSize > 0;
+    // whether the span is counted against maxQueueSize in a queue shared with priority spans
+    final boolean routine = !priority && priorityQueueSize > 0;
+    final long maxBytes = reserved ? maxPriorityQueueBytes : maxQueueBytes;
+    byte[] encodedSpan = null;
+    if (encodingSender != null) {
+      // encoding a span which would be dropped anyway is a waste under backpressure
+      if ((maxQueueBytes > 0 && queuedBytes.get() >= maxBytes) || commandQueue.remainingCapacity() == 0
+          || (routine && routineSpansQueued.get() >= maxQueueSize)) {
+        dropped(priority);
+        return;
+      }
+      encodedSpan = encode(span);
+      if (encodedSpan == null) {
+        return;
+      }
+    }
+
+    int size = 0;
+    if (maxQueueBytes > 0) {
+      size = encodedSpan != null
+          ? ENCODED_SPAN_OVERHEAD_BYTES + encodedSpan.length
+          : span.estimateRetainedBytes();
+      if (queuedBytes.addAndGet(size) > maxBytes) {
+        queuedBytes.addAndGet(-size);
+        dropped(priority);
+        return;
+      }
+    }
+
     // Its better to drop spans, than to block here
-    boolean added = commandQueue.offer(new AppendCommand(span));
+    boolean added;
+    if (spanBuffer != null) {
+      added = spanBuffer.offer(span, size);
+      if (!added && reserved) {
+        added = offerCounted(new AppendCommand(span, size, overflowSpansQueued), overflowSpansQueued,
+            priorityQueueSize);
+      }
+      if (added) {
+        queueProcessor.wakeUp();
+      }
+    } else {
+      // the command queue has room for maxQueueSize routine spans, plus the capacity reserved for priority spans
+      AtomicInteger counter = routine ? routineSpansQueued : null;
+      Command command = encodedSpan != null
+          ? new AppendEncodedCommand(encodedSpan, size, counter)
+          : new AppendCommand(span, size, counter);
+      added = routine ? offerCounted(command, counter, maxQueueSize) : commandQueue.offer(command);
+    }
 
     if (!added) {
-      metrics.reporterDropped.inc(1);
+      queuedBytes.addAndGet(-size);
+      dropped(priority);
+    }
+  }
+
+  /*
+   * Enqueues a span command unless the counter of the spans of its kind already reached the limit.
+   */
+  private boolean offerCounted(Command command, AtomicInteger counter, int limit) {
+    if (counter.incrementAndGet() > limit || !commandQueue.offer(command)) {
+      counter.decrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  /*
+   * Debug spans and spans tagged as errors are the ones needed most when the queue overflows.
+   */
+  private static boolean isPriority(JaegerSpan span) {
+    if (span.context().isDebug()) {
+      return true;
+    }
+    Object error = span.getTag(Tags.ERROR.getKey());
+    return Boolean.TRUE.equals(error) || "true".equals(error);
+  }
+
+  private void dropped(boolean priority) {
+    metrics.reporterDropped.inc(1);
+    if (priority) {
+      metrics.reporterDroppedHighPriority.inc(1);
+    } else {
+      metrics.reporterDroppedNormalPriority.inc(1);
+    }
+  }
+
+  /*
+   * Encodes the span on the calling thread, so that the queue does not keep its object graph reachable.
+   */
+  private byte[] encode(JaegerSpan span) {
+    try {
+      return encodingSender.encode(span);
+    } catch (SenderException e) {
+      metrics.reporterFailure.inc(e.getDroppedSpanCount());
+      if (!encodingFailedBefore) {
+        encodingFailedBefore = true;
+        log.warn("Encoding a span failed! Repeated errors will not be logged.", e);
+      }
+      return null;
     }
   }
 
@@ -93,6 +273,7 @@ public class RemoteReporter implements Reporter {
       boolean added = commandQueue
           .offer(new CloseCommand(), closeEnqueueTimeout, TimeUnit.MILLISECONDS);
       if (added) {
+        queueProcessor.wakeUp();
         queueProcessorThread.join(10000);
       } else {
         log.warn("Unable to cleanly close RemoteReporter, command queue is full - probably the"
@@ -108,17 +289,113 @@ public class RemoteReporter implements Reporter {
         metrics.reporterFailure.inc(e.getDroppedSpanCount());
         log.error("Remote reporter error", e);
       }
-      flushTimer.cancel();
+      flushTask.cancel();
+      if (spillFile != null) {
+        if (queueProcessorThread.isAlive()) {
+          // the queue processor may still be using the spill file, which is not thread-safe
+          log.warn("The queue processor did not stop, the spill file is left open");
+        } else {
+          // spilled batches which were not replayed by now are lost
+          while (!spillFile.isEmpty()) {
+            evictOldestSpilled();
+          }
+          closeSpillFile(spillFile);
+        }
+      }
     }
   }
 
   void flush() {
     // to reduce the number of updateGauge stats, we only emit queue length on flush
-    metrics.reporterQueueLength.update(commandQueue.size());
+    ShardedReporter shardedReporter = this.shardedReporter;
+    if (shardedReporter != null) {
+      shardedReporter.updateQueueGauges();
+    } else {
+      metrics.reporterQueueLength.update(queueLength());
+      if (maxQueueBytes > 0) {
+        metrics.reporterQueueBytes.update(queuedBytes());
+      }
+    }
 
     // We can safely drop FlushCommand when the queue is full - sender should take care of flushing
     // in such case
-    commandQueue.offer(new FlushCommand());
+    if (commandQueue.offer(new FlushCommand())) {
+      queueProcessor.wakeUp();
+    }
+
+    if (spillFile != null && !spillFile.isEmpty() && replayScheduled.compareAndSet(false, true)) {
+      if (commandQueue.offer(replayCommand)) {
+        queueProcessor.wakeUp();
+      } else {
+        replayScheduled.set(false);
+      }
+    }
+  }
+
+  /*
+   * Flushes once the oldest span buffered by the sender waited for the flush interval, and every flush interval
+   * when the sender holds nothing. Under load the sender sends full batches by itself, which restarts the clock.
+   */
+  private void flushIfDue() {
+    long now = System.nanoTime();
+    long bufferedSince = bufferedSinceNanos;
+    long since = bufferedSince == NOTHING_BUFFERED ? lastFlushNanos : bufferedSince;
+    if (now - since >= flushIntervalNanos) {
+      lastFlushNanos = now;
+      flush();
+    }
+  }
+
+  /*
+   * Called by the queue processor after a span was handed to the sender.
+   */
+  private void appended(int sentSpanCount) {
+    // after sending a batch by itself the sender holds only the latest span
+    if (adaptiveFlush && (sentSpanCount > 0 || bufferedSinceNanos == NOTHING_BUFFERED)) {
+      bufferedSinceNanos = System.nanoTime();
+    }
+  }
+
+  private boolean hasQueuedCommands() {
+    return !commandQueue.isEmpty() || (spanBuffer != null && !spanBuffer.isEmpty());
+  }
+
+  int queueLength() {
+    int queueLength = commandQueue.size();
+    if (spanBuffer != null) {
+      queueLength += spanBuffer.size();
+    }
+    return queueLength;
+  }
+
+  long queuedBytes() {
+    return queuedBytes.get();
+  }
+
+  boolean isQueueBoundedByBytes() {
+    return maxQueueBytes > 0;
+  }
+
+  Metrics getMetrics() {
+    return metrics;
+  }
+
+  void setShardedReporter(ShardedReporter shardedReporter) {
+    this.shardedReporter = shardedReporter;
+  }
+
+  private void evictOldestSpilled() {
+    metrics.reporterEvictedBytes.inc(spillFile.oldestLength());
+    metrics.reporterFailure.inc(spillFile.oldestSpanCount());
+    spillFile.removeOldest();
+  }
+
+  private static void closeSpillFile(SpillFile spillFile) {
+    try {
+      spillFile.close();
+    } catch (IOException e) {
+      log.warn("Could not close the spill file", e);
+    }
   }
 
   /*
@@ -132,15 +409,61 @@ public class RemoteReporter implements Reporter {
   }
 
   class AppendCommand implements Command {
-    private final JaegerSpan span;
+    // not final: in ring buffer mode the queue processor reuses a single instance
+    private JaegerSpan span;
+    // the estimated size of the span, if the queue is bounded by bytes
+    private int size;
+    // the count of queued spans of its kind, if any, decremented when the span leaves the queue
+    private final AtomicInteger counter;
 
     public AppendCommand(JaegerSpan span) {
+      this(span, 0, null);
+    }
+
+    AppendCommand(JaegerSpan span, int size, AtomicInteger counter) {
       this.span = span;
+      this.size = size;
+      this.counter = counter;
     }
 
     @Override
     public int execute() throws SenderException {
-      return sender.append(span);
+      if (size > 0) {
+        // the span leaves the queue, the sender buffers it in serialized form
+        queuedBytes.addAndGet(-size);
+      }
+      if (counter != null) {
+        counter.decrementAndGet();
+      }
+      int n = sender.append(span);
+      appended(n);
+      return n;
+    }
+  }
+
+  class AppendEncodedCommand implements Command {
+    private final byte[] encodedSpan;
+    // the size counted against the max queue bytes
+    private final int size;
+    private final AtomicInteger counter;
+
+    AppendEncodedCommand(byte[] encodedSpan, int size, AtomicInteger counter) {
+      this.encodedSpan = encodedSpan;
+      this.size = size;
+      this.counter = counter;
+    }
+
+    @Override
+    public int execute() throws SenderException {
+      if (size > 0) {
+        queuedBytes.addAndGet(-size);
+      }
+      if (counter != null) {
+        counter.decrementAndGet();
+      }
+      int n = encodingSender.appendEncoded(encodedSpan);
+      appended(n);
+      return n;
     }
   }
 
@@ -155,23 +478,112 @@ public class RemoteReporter implements Reporter {
   class FlushCommand implements Command {
     @Override
     public int execute() throws SenderException {
+      if (adaptiveFlush) {
+        long bufferedSince = bufferedSinceNanos;
+        // spans are waiting behind this command and will fill the batch further, unless it is overdue
+        if (bufferedSince != NOTHING_BUFFERED && hasQueuedCommands()
+            && System.nanoTime() - bufferedSince < 2 * flushIntervalNanos) {
+          return 0;
+        }
+        bufferedSinceNanos = NOTHING_BUFFERED;
+      }
       return sender.flush();
     }
   }
 
+  /*
+   * Sends one spilled batch again and re-enqueues itself while there are more, so replaying interleaves with
+   * the spans reported meanwhile. Scheduled by the flush timer, at most one instance is in the queue.
+   */
+  class ReplayCommand implements Command {
+    @Override
+    public int execute() throws SenderException {
+      boolean rescheduled = false;
+      try {
+        if (spillFile.isEmpty()) {
+          return 0;
+        }
+        int length = spillFile.oldestLength();
+        int spanCount = spillFile.oldestSpanCount();
+        int sent;
+        try {
+          sent = ((SpillingSender) sender).sendSpilled(spillFile.oldest(), 0, length, spanCount);
+        } catch (SenderException e) {
+          // the batch stays in the spill file, it is not dropped yet
+          throw new SenderException(e.getMessage(), e.getCause(), 0);
+        }
+        spillFile.removeOldest();
+        metrics.reporterReplayedBytes.inc(length);
+        rescheduled = !spillFile.isEmpty() && commandQueue.offer(this);
+        return sent;
+      } finally {
+        if (!rescheduled) {
+          replayScheduled.set(false);
+        }
+      }
+    }
+  }
+
+  /*
+   * Keeps the batches a SpillingSender failed to send in the spill file, evicting the oldest ones when it is full.
+   * Called from the queue processor thread.
+   */
+  class DiskSpill implements SpillingSender.Spill {
+    @Override
+    public boolean spill(byte[] batch, int offset, int length, int spanCount) {
+      if (!spillFile.fits(length)) {
+        return false;
+      }
+      while (!spillFile.hasRoomFor(length)) {
+        evictOldestSpilled();
+      }
+      spillFile.append(batch, offset, length, spanCount);
+      metrics.reporterSpilledBytes.inc(length);
+      return true;
+    }
+  }
+
+  /*
+   * Accounts for the spans an AsyncSender sent after append or flush returned. Called from the sender's threads.
+   */
+  class AsyncSenderCallback implements AsyncSender.Callback {
+    private volatile boolean failedBefore;
+
+    @Override
+    public void onSuccess(int spanCount) {
+      metrics.reporterSuccess.inc(spanCount);
+      if (failedBefore) {
+        failedBefore = false;
+        log.info("Asynchronous send is working again!");
+      }
+    }
+
+    @Override
+    public void onFailure(SenderException e) {
+      metrics.reporterFailure.inc(e.getDroppedSpanCount());
+      if (!failedBefore) {
+        failedBefore = true;
+        log.warn("Asynchronous send failed! Repeated errors will not be logged.", e);
+      }
+    }
+  }
+
   /*
    * This class creates a Runnable that is responsible for appending spans using a sender.
    */
   @ToString
   class QueueProcessor implements Runnable {
     private volatile boolean open = true;
+    private volatile boolean sleeping;
     private final Set<Class<?>> commandFailedBefore = new HashSet<Class<?>>();
+    @ToString.Exclude private final AppendCommand ringBufferAppend = new AppendCommand(null);
+    private int appendedSinceLastPoll;
 
     @Override
     public void run() {
       while (open) {
         try {
-          RemoteReporter.Command command = commandQueue.take();
+          RemoteReporter.Command command = takeCommand();
           Class<? extends Command> commandClass = command.getClass();
           boolean failedBefore = commandFailedBefore.contains(commandClass);
 
@@ -195,10 +607,56 @@ public class RemoteReporter implements Reporter {
         } catch (Exception e) {
           log.error("QueueProcessor error:", e);
           // Do nothing, and try again on next span.
+        } finally {
+          ringBufferAppend.span = null;
         }
       }
     }
 
+    /*
+     * In ring buffer mode spans are taken from the ring buffer and handed to the sender through a
+     * single reused AppendCommand, while flush and close commands still go through the command queue.
+     * The command queue is polled at least once per ring buffer capacity worth of spans, so commands
+     * are not starved under constant load.
+     */
+    private Command takeCommand() throws InterruptedException {
+      if (spanBuffer == null) {
+        return commandQueue.take();
+      }
+      while (true) {
+        if (appendedSinceLastPoll < spanBuffer.capacity()) {
+          JaegerSpan span = spanBuffer.poll();
+          if (span != null) {
+            appendedSinceLastPoll++;
+            ringBufferAppend.span = span;
+            ringBufferAppend.size = spanBuffer.polledSize();
+            return ringBufferAppend;
+          }
+        }
+        appendedSinceLastPoll = 0;
+        Command command = commandQueue.poll();
+        if (command != null) {
+          return command;
+        }
+
+        sleeping = true;
+        // re-check after announcing that we are going to sleep, producers wake us up only if they see the flag
+        if (spanBuffer.isEmpty() && commandQueue.isEmpty()) {
+          LockSupport.parkNanos(this, RING_BUFFER_MAX_PARK_NANOS);
+        }
+        sleeping = false;
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      }
+    }
+
+    void wakeUp() {
+      if (sleeping) {
+        LockSupport.unpark(queueProcessorThread);
+      }
+    }
+
     public void close() {
       open = false;
     }
@@ -208,8 +666,16 @@ public class RemoteReporter implements Reporter {
     private Sender sender;
     private int flushInterval = DEFAULT_FLUSH_INTERVAL_MS;
     private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+    private int maxQueueBytes;
+    private int priorityQueueSize;
     private int closeEnqueTimeout = DEFAULT_CLOSE_ENQUEUE_TIMEOUT_MILLIS;
     private Metrics metrics;
+    private boolean useRingBuffer;
+    private boolean preEncoding;
+    private File spillFile;
+    private int spillMaxBytes = DEFAULT_SPILL_MAX_BYTES;
+    private PeriodicScheduler scheduler;
+    private boolean adaptiveFlush;
 
     public Builder withFlushInterval(int flushInterval) {
       this.flushInterval = flushInterval;
@@ -221,6 +687,30 @@ public class RemoteReporter implements Reporter {
       return this;
     }
 
+    /**
+     * Reserves capacity in the queue for debug spans and spans tagged {@code error=true}, so they are still
+     * accepted when other spans fill the queue. If the queue is bounded by bytes, their byte budget is raised by
+     * the same proportion of the max queue bytes. By default 0, no capacity is reserved.
+     *
+     * @return this instance of the builder
+     */
+    public Builder withPriorityQueueSize(int priorityQueueSize) {
+      this.priorityQueueSize = priorityQueueSize;
+      return this;
+    }
+
+    /**
+     * Bounds the queue by the estimated heap retained by the queued spans, in addition to their number. Spans are
+     * dropped when they would exceed the budget, see {@link JaegerSpan#estimateRetainedBytes()}.
+     *
+     * @param maxQueueBytes the budget in bytes, 0 to bound the queue by the number of spans only
+     * @return this instance of the builder
+     */
+    public Builder withMaxQueueBytes(int maxQueueBytes) {
+      this.maxQueueBytes = maxQueueBytes;
+      return this;
+    }
+
     public Builder withMetrics(Metrics metrics) {
       this.metrics = metrics;
       return this;
@@ -236,14 +726,91 @@ public class RemoteReporter implements Reporter {
       return this;
     }
 
+    /**
+     * Buffers spans in a preallocated lock-free ring buffer instead of the command queue. Reporting a span
+     * then neither allocates nor takes a lock, which matters when many threads finish spans concurrently.
+     * Spans are still dropped when the buffer is full. The capacity is the max queue size rounded up
+     * to the next power of two.
+     *
+     * @return this instance of the builder
+     */
+    public Builder withRingBuffer() {
+      this.useRingBuffer = true;
+      return this;
+    }
+
+    /**
+     * Encodes spans into the sender's wire format on the thread reporting them, and queues only the encoded bytes.
+     * This costs some CPU on the thread finishing the span, in exchange the span's tags and logs are not kept
+     * reachable by the queue, which lowers heap retention and GC pressure when spans back up. Only used with an
+     * {@link EncodingSender}, like the Thrift senders. The ring buffer is not used in this mode.
+     *
+     * @return this instance of the builder
+     */
+    public Builder withPreEncoding() {
+      this.preEncoding = true;
+      return this;
+    }
+
+    /**
+     * Keeps the batches the sender failed to send in a memory-mapped file of at most the given size, and sends
+     * them again once the sender works again. When the file is full the oldest batches are evicted. The file is
+     * truncated when the reporter starts and deleted when it is closed. Only used with a
+     * {@link SpillingSender}, like the Thrift senders, and not by an {@code HttpSender} sending asynchronously.
+     * The memory mapping of the file is released when it is garbage collected, not when the reporter is closed.
+     *
+     * @param spillFile the file to spill to
+     * @param spillMaxBytes the size of the file
+     * @return this instance of the builder
+     */
+    public Builder withSpillFile(File spillFile, int spillMaxBytes) {
+      this.spillFile = spillFile;
+      this.spillMaxBytes = spillMaxBytes;
+      return this;
+    }
+
+    /**
+     * Flushes the sender when the oldest span it buffers has waited for the flush interval, instead of every
+     * flush interval. Under low traffic this bounds the latency of each span by about the flush interval, under
+     * high traffic the sender sends batches once they are full, and a flush is put off while more spans are
+     * queued, up to twice the flush interval.
+     *
+     * @return this instance of the builder
+     */
+    public Builder withAdaptiveFlush() {
+      this.adaptiveFlush = true;
+      return this;
+    }
+
+    /**
+     * @param scheduler runs the periodic flush, by default the {@link PeriodicScheduler#getDefault() shared one}
+     * @return this instance of the builder
+     */
+    public Builder withScheduler(PeriodicScheduler scheduler) {
+      this.scheduler = scheduler;
+      return this;
+    }
+
     public RemoteReporter build() {
       if (sender == null) {
         sender = SenderResolver.resolve();
       }
       if (metrics == null) {
-        metrics = new Metrics(new InMemoryMetricsFactory());
+        metrics = new Metrics(new StripedMetricsFactory());
+      }
+      if (scheduler == null) {
+        scheduler = PeriodicScheduler.getDefault();
+      }
+      SpillFile spill = null;
+      if (spillFile != null) {
+        try {
+          spill = new SpillFile(spillFile, spillMaxBytes);
+        } catch (IOException e) {
+          log.warn("Could not open the spill file " + spillFile + ", failed batches will be dropped", e);
+        }
       }
-      return new RemoteReporter(sender, flushInterval, maxQueueSize, closeEnqueTimeout, metrics);
+      return new RemoteReporter(sender, flushInterval, maxQueueSize, maxQueueBytes, priorityQueueSize,
+          closeEnqueTimeout, metrics, useRingBuffer, preEncoding, spill, scheduler, adaptiveFlush);
     }
   }
 }
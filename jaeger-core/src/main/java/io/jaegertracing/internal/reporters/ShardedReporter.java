@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.reporters;
+
+import io.jaegertracing.internal.JaegerSpan;
+import io.jaegertracing.internal.metrics.Metrics;
+import io.jaegertracing.spi.Reporter;
+import lombok.ToString;
+
+/**
+ * Spreads spans over several {@link RemoteReporter} lanes, each with its own queue, queue processor thread and
+ * sender, for services which report more spans than a single queue processor can convert and send.
+ *
+ * <p>Spans are routed by trace id, so the spans of a trace go through the same lane and its batches stay
+ * trace-local. The lanes are expected to share one {@link Metrics} instance: the queue gauges then report the
+ * totals over all lanes.
+ */
+@ToString
+public class ShardedReporter implements Reporter {
+  private final RemoteReporter[] lanes;
+
+  public ShardedReporter(RemoteReporter... lanes) {
+    if (lanes.length == 0) {
+      throw new IllegalArgumentException("At least one lane is required");
+    }
+    this.lanes = lanes.clone();
+    for (RemoteReporter lane : this.lanes) {
+      lane.setShardedReporter(this);
+    }
+  }
+
+  @Override
+  public void report(JaegerSpan span) {
+    lanes[laneIndex(span.context().getTraceIdLow(), lanes.length)].report(span);
+  }
+
+  @Override
+  public void close() {
+    for (RemoteReporter lane : lanes) {
+      lane.close();
+    }
+  }
+
+  int getLaneCount() {
+    return lanes.length;
+  }
+
+  void updateQueueGauges() {
+    int queueLength = 0;
+    long queuedBytes = 0;
+    boolean boundedByBytes = false;
+    for (RemoteReporter lane : lanes) {
+      queueLength += lane.queueLength();
+      queuedBytes += lane.queuedBytes();
+      boundedByBytes |= lane.isQueueBoundedByBytes();
+    }
+    Metrics metrics = lanes[0].getMetrics();
+    metrics.reporterQueueLength.update(queueLength);
+    if (boundedByBytes) {
+      metrics.reporterQueueBytes.update(queuedBytes);
+    }
+  }
+
+  static int laneIndex(long traceIdLow, int laneCount) {
+    // trace ids are random, folding in the high bits keeps the distribution even for ids that are not
+    return (int) Math.floorMod(traceIdLow ^ (traceIdLow >>> 32), (long) laneCount);
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.reporters;
+
+import io.jaegertracing.internal.JaegerSpan;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, preallocated, lock-free multi-producer/single-consumer queue of spans.
+ *
+ * <p>Every slot carries a sequence number: producers claim a position with a CAS on the tail and
+ * publish the span by advancing the sequence of its slot, the single consumer releases the slot by
+ * advancing the sequence once more. No objects are allocated per span and producers never block:
+ * {@link #offer(JaegerSpan)} returns false when the buffer is full.
+ *
+ * <p>Only one thread may call {@link #poll()}.
+ */
+final class SpanRingBuffer {
+  private final JaegerSpan[] slots;
+  private final int[] sizes;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private volatile long head;
+  private int polledSize;
+
+  /**
+   * @param minCapacity the capacity is rounded up to the next power of two
+   */
+  SpanRingBuffer(int minCapacity) {
+    if (minCapacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive: " + minCapacity);
+    }
+    int capacity = minCapacity == 1 ? 1 : Integer.highestOneBit(minCapacity - 1) << 1;
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity is too large: " + minCapacity);
+    }
+    this.slots = new JaegerSpan[capacity];
+    this.sizes = new int[capacity];
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+    this.mask = capacity - 1;
+  }
+
+  int capacity() {
+    return slots.length;
+  }
+
+  /**
+   * @return false if the buffer is full, in which case the span has not been added
+   */
+  boolean offer(JaegerSpan span) {
+    return offer(span, 0);
+  }
+
+  /**
+   * @param size the estimated size of the span, returned by {@link #polledSize()} once it is polled
+   * @return false if the buffer is full, in which case the span has not been added
+   */
+  boolean offer(JaegerSpan span, int size) {
+    long position = tail.get();
+    int index;
+    while (true) {
+      index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          break;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        // the consumer has not released this slot yet, the buffer is full
+        return false;
+      } else {
+        // another producer claimed this position, catch up
+        position = tail.get();
+      }
+    }
+    slots[index] = span;
+    sizes[index] = size;
+    // volatile write: it has to be visible before the producer checks whether the consumer sleeps
+    sequences.set(index, position + 1);
+    return true;
+  }
+
+  /**
+   * @return the oldest span or null if the buffer is empty
+   */
+  JaegerSpan poll() {
+    long position = head;
+    int index = (int) (position & mask);
+    if (sequences.get(index) != position + 1) {
+      return null;
+    }
+    final JaegerSpan span = slots[index];
+    slots[index] = null;
+    polledSize = sizes[index];
+    head = position + 1;
+    sequences.lazySet(index, position + slots.length);
+    return span;
+  }
+
+  /**
+   * @return the size the span returned by the last {@link #poll()} was offered with, must only be called by the
+   *     consumer
+   */
+  int polledSize() {
+    return polledSize;
+  }
+
+  /**
+   * @return true if there is no published span to poll, must only be called by the consumer
+   */
+  boolean isEmpty() {
+    long position = head;
+    return sequences.get((int) (position & mask)) != position + 1;
+  }
+
+  /**
+   * @return an estimate of the number of spans in the buffer, including spans still being published
+   */
+  int size() {
+    long size = tail.get() - head;
+    if (size < 0) {
+      return 0;
+    }
+    return (int) Math.min(size, slots.length);
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.reporters;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A size-capped ring of byte records backed by a memory-mapped file, so that the spilled batches live in the
+ * page cache instead of the heap.
+ *
+ * <p>Each record is its length and span count followed by the bytes, written with wrap-around at the end of the
+ * file. Records are only appended at the tail and removed at the head, callers make room by removing the oldest
+ * records. The file is truncated when opened and deleted when closed: records do not survive the process.
+ *
+ * <p>Only one thread may modify the file, {@link #isEmpty()} may be called from any thread.
+ */
+final class SpillFile implements Closeable {
+  static final int RECORD_HEADER_BYTES = 8;
+
+  private final File file;
+  private final RandomAccessFile randomAccessFile;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  private final byte[] header = new byte[RECORD_HEADER_BYTES];
+  private byte[] record = new byte[0];
+  private long head;
+  private long tail;
+  private volatile int recordCount;
+
+  SpillFile(File file, int capacity) throws IOException {
+    if (capacity <= RECORD_HEADER_BYTES) {
+      throw new IllegalArgumentException("Capacity is too small: " + capacity);
+    }
+    this.file = file;
+    this.capacity = capacity;
+    this.randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      randomAccessFile.setLength(0);
+      this.buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    } catch (IOException e) {
+      randomAccessFile.close();
+      throw e;
+    }
+  }
+
+  int capacity() {
+    return capacity;
+  }
+
+  /**
+   * @return the number of bytes used by records, including their headers
+   */
+  long size() {
+    return tail - head;
+  }
+
+  boolean isEmpty() {
+    return recordCount == 0;
+  }
+
+  /**
+   * @return false if a record of the given length would not fit even into the empty file
+   */
+  boolean fits(int length) {
+    return length <= capacity - RECORD_HEADER_BYTES;
+  }
+
+  /**
+   * @return true if a record of the given length can be appended without removing older records
+   */
+  boolean hasRoomFor(int length) {
+    return size() + RECORD_HEADER_BYTES + length <= capacity;
+  }
+
+  /**
+   * Appends a record, callers have to check {@link #hasRoomFor(int)} first.
+   */
+  void append(byte[] bytes, int offset, int length, int spanCount) {
+    if (!hasRoomFor(length)) {
+      throw new IllegalStateException("No room for a record of " + length + " bytes");
+    }
+    writeInt(header, 0, length);
+    writeInt(header, 4, spanCount);
+    write(tail, header, 0, RECORD_HEADER_BYTES);
+    write(tail + RECORD_HEADER_BYTES, bytes, offset, length);
+    tail += RECORD_HEADER_BYTES + length;
+    recordCount++;
+  }
+
+  /**
+   * @return the length of the oldest record, the file must not be empty
+   */
+  int oldestLength() {
+    read(head, header, 0, RECORD_HEADER_BYTES);
+    return readInt(header, 0);
+  }
+
+  /**
+   * @return the span count of the oldest record, the file must not be empty
+   */
+  int oldestSpanCount() {
+    read(head, header, 0, RECORD_HEADER_BYTES);
+    return readInt(header, 4);
+  }
+
+  /**
+   * @return an array holding the bytes of the oldest record from index 0 on, it is reused by the next call
+   */
+  byte[] oldest() {
+    int length = oldestLength();
+    if (record.length < length) {
+      record = new byte[length];
+    }
+    read(head + RECORD_HEADER_BYTES, record, 0, length);
+    return record;
+  }
+
+  void removeOldest() {
+    head += RECORD_HEADER_BYTES + oldestLength();
+    recordCount--;
+  }
+
+  /**
+   * Closes and deletes the file. Java offers no supported way to unmap a {@link MappedByteBuffer}, the mapping
+   * and the pages it holds are released when the buffer is garbage collected. Until then the file keeps using
+   * disk space after its deletion, and on Windows it cannot be deleted, it is deleted on exit instead.
+   */
+  @Override
+  public void close() throws IOException {
+    randomAccessFile.close();
+    if (!file.delete()) {
+      file.deleteOnExit();
+    }
+  }
+
+  private void write(long position, byte[] src, int offset, int length) {
+    int index = (int) (position % capacity);
+    int first = Math.min(length, capacity - index);
+    buffer.position(index);
+    buffer.put(src, offset, first);
+    if (first < length) {
+      buffer.position(0);
+      buffer.put(src, offset + first, length - first);
+    }
+  }
+
+  private void read(long position, byte[] dst, int offset, int length) {
+    int index = (int) (position % capacity);
+    int first = Math.min(length, capacity - index);
+    buffer.position(index);
+    buffer.get(dst, offset, first);
+    if (first < length) {
+      buffer.position(0);
+      buffer.get(dst, offset + first, length - first);
+    }
+  }
+
+  private static void writeInt(byte[] bytes, int offset, int value) {
+    bytes[offset] = (byte) (value >>> 24);
+    bytes[offset + 1] = (byte) (value >>> 16);
+    bytes[offset + 2] = (byte) (value >>> 8);
+    bytes[offset + 3] = (byte) value;
+  }
+
+  private static int readInt(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xff) << 24
+        | (bytes[offset + 1] & 0xff) << 16
+        | (bytes[offset + 2] & 0xff) << 8
+        | bytes[offset + 3] & 0xff;
+  }
+}
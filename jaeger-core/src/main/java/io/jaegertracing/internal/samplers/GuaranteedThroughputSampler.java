@@ -16,6 +16,7 @@ package io.jaegertracing.internal.samplers;
 
 import io.jaegertracing.internal.Constants;
 import io.jaegertracing.spi.Sampler;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.EqualsAndHashCode;
@@ -27,25 +28,32 @@ import lombok.ToString;
  *
  * The RateLimitingSampler is used to establish a lowerBound so that every operation is sampled
  * at least once in the time interval defined by the lowerBound.
+ *
+ * {@link #sample(String, long)} does not lock: both samplers are thread-safe and are replaced as a whole
+ * by {@link #update(double, double)}.
  */
 @ToString
 @EqualsAndHashCode
 public final class GuaranteedThroughputSampler implements Sampler {
   public static final String TYPE = "lowerbound";
 
-  private ProbabilisticSampler probabilisticSampler;
-  private RateLimitingSampler lowerBoundSampler;
-  private Map<String, Object> tags;
+  private volatile ProbabilisticSampler probabilisticSampler;
+  private volatile RateLimitingSampler lowerBoundSampler;
+  private volatile Map<String, Object> tags;
 
   public GuaranteedThroughputSampler(double samplingRate, double lowerBound) {
-    tags = new HashMap<String, Object>();
-    tags.put(Constants.SAMPLER_TYPE_TAG_KEY, TYPE);
-    tags.put(Constants.SAMPLER_PARAM_TAG_KEY, samplingRate);
-
+    tags = createTags(samplingRate);
     probabilisticSampler = new ProbabilisticSampler(samplingRate);
     lowerBoundSampler = new RateLimitingSampler(lowerBound);
   }
 
+  private static Map<String, Object> createTags(double samplingRate) {
+    Map<String, Object> tags = new HashMap<String, Object>();
+    tags.put(Constants.SAMPLER_TYPE_TAG_KEY, TYPE);
+    tags.put(Constants.SAMPLER_PARAM_TAG_KEY, samplingRate);
+    return Collections.unmodifiableMap(tags);
+  }
+
   /**
    * Updates the probabilistic and lowerBound samplers
    * @param samplingRate The sampling rate for probabilistic sampling
@@ -55,8 +63,8 @@ public final class GuaranteedThroughputSampler implements Sampler {
   public synchronized boolean update(double samplingRate, double lowerBound) {
     boolean isUpdated = false;
     if (samplingRate != probabilisticSampler.getSamplingRate()) {
+      tags = createTags(samplingRate);
       probabilisticSampler = new ProbabilisticSampler(samplingRate);
-      tags.put(Constants.SAMPLER_PARAM_TAG_KEY, samplingRate);
       isUpdated = true;
     }
     if (lowerBound != lowerBoundSampler.getMaxTracesPerSecond()) {
@@ -75,7 +83,7 @@ public final class GuaranteedThroughputSampler implements Sampler {
    * @param id The traceId on the span
    */
   @Override
-  public synchronized SamplingStatus sample(String operation, long id) {
+  public SamplingStatus sample(String operation, long id) {
     SamplingStatus probabilisticSamplingStatus = probabilisticSampler.sample(operation, id);
     SamplingStatus lowerBoundSamplingStatus = lowerBoundSampler.sample(operation, id);
 
@@ -30,6 +30,10 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Computes {@link #sample(String, long)} using the name of the operation, and maintains a specific
  * {@link GuaranteedThroughputSampler} instance for each operation.
+ *
+ * <p>The map of operation samplers is an immutable snapshot replaced on {@link #update(OperationSamplingParameters)}
+ * and when a new operation is seen, so {@link #sample(String, long)} only takes a lock the first time an
+ * operation is sampled.
  */
 @Slf4j
 @EqualsAndHashCode
@@ -38,9 +42,9 @@ import lombok.extern.slf4j.Slf4j;
 @Getter(AccessLevel.PACKAGE) //Visible for testing
 public class PerOperationSampler implements Sampler {
   private final int maxOperations;
-  private Map<String, GuaranteedThroughputSampler> operationNameToSampler;
-  private ProbabilisticSampler defaultSampler;
-  private double lowerBound;
+  private volatile Map<String, GuaranteedThroughputSampler> operationNameToSampler;
+  private volatile ProbabilisticSampler defaultSampler;
+  private volatile double lowerBound;
 
   public PerOperationSampler(int maxOperations, OperationSamplingParameters strategies) {
     this(maxOperations,
@@ -92,21 +96,41 @@ public class PerOperationSampler implements Sampler {
   }
 
   @Override
-  public synchronized SamplingStatus sample(String operation, long id) {
-    GuaranteedThroughputSampler sampler = operationNameToSampler.get(operation);
+  public SamplingStatus sample(String operation, long id) {
+    Map<String, GuaranteedThroughputSampler> samplers = operationNameToSampler;
+    GuaranteedThroughputSampler sampler = samplers.get(operation);
     if (sampler != null) {
       return sampler.sample(operation, id);
     }
 
-    if (operationNameToSampler.size() < maxOperations) {
-      sampler = new GuaranteedThroughputSampler(defaultSampler.getSamplingRate(), lowerBound);
-      operationNameToSampler.put(operation, sampler);
-      return sampler.sample(operation, id);
+    if (samplers.size() < maxOperations) {
+      sampler = addOperationSampler(operation);
+      if (sampler != null) {
+        return sampler.sample(operation, id);
+      }
     }
 
     return defaultSampler.sample(operation, id);
   }
 
+  /**
+   * @return the sampler of the operation, or null if the maximum number of operations has been reached
+   */
+  private synchronized GuaranteedThroughputSampler addOperationSampler(String operation) {
+    GuaranteedThroughputSampler sampler = operationNameToSampler.get(operation);
+    if (sampler != null || operationNameToSampler.size() >= maxOperations) {
+      return sampler;
+    }
+
+    // copy on write: the number of operations is bounded and each one is only added once
+    Map<String, GuaranteedThroughputSampler> newOpsSamplers =
+        new HashMap<String, GuaranteedThroughputSampler>(operationNameToSampler);
+    sampler = new GuaranteedThroughputSampler(defaultSampler.getSamplingRate(), lowerBound);
+    newOpsSamplers.put(operation, sampler);
+    operationNameToSampler = newOpsSamplers;
+    return sampler;
+  }
+
   @Override
   public synchronized void close() {
     defaultSampler.close();
@@ -15,16 +15,15 @@
 package io.jaegertracing.internal.samplers;
 
 import io.jaegertracing.internal.exceptions.SamplingStrategyErrorException;
-import io.jaegertracing.internal.metrics.InMemoryMetricsFactory;
 import io.jaegertracing.internal.metrics.Metrics;
+import io.jaegertracing.internal.metrics.StripedMetricsFactory;
 import io.jaegertracing.internal.samplers.http.OperationSamplingParameters;
 import io.jaegertracing.internal.samplers.http.ProbabilisticSamplingStrategy;
 import io.jaegertracing.internal.samplers.http.RateLimitingSamplingStrategy;
 import io.jaegertracing.internal.samplers.http.SamplingStrategyResponse;
+import io.jaegertracing.internal.utils.PeriodicScheduler;
 import io.jaegertracing.spi.Sampler;
 import io.jaegertracing.spi.SamplingManager;
-import java.util.Timer;
-import java.util.TimerTask;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
@@ -48,7 +47,7 @@ public class RemoteControlledSampler implements Sampler {
   // most of the time, toString here is called from the JaegerTracer, which holds this as well
   @ToString.Exclude private final String serviceName;
 
-  @ToString.Exclude private final Timer pollTimer;
+  @ToString.Exclude private final PeriodicScheduler.Task pollTask;
   @ToString.Exclude private final Metrics metrics;
 
   private RemoteControlledSampler(Builder builder) {
@@ -62,14 +61,13 @@ public class RemoteControlledSampler implements Sampler {
       this.sampler = new ProbabilisticSampler(ProbabilisticSampler.DEFAULT_SAMPLING_PROBABILITY);
     }
 
-    pollTimer = new Timer(true); // true makes this a daemon thread
-    pollTimer.schedule(
-        new TimerTask() {
+    pollTask = builder.scheduler.schedule(
+        new Runnable() {
           @Override
           public void run() {
             try {
               updateSampler();
-            } catch (Exception e) { // keep the timer thread alive
+            } catch (Exception e) {
               log.error("Failed to update sampler", e);
             }
           }
@@ -153,7 +151,7 @@ public class RemoteControlledSampler implements Sampler {
 
   @Override
   public void close() {
-    pollTimer.cancel();
+    pollTask.cancel();
   }
 
   public static class Builder {
@@ -162,6 +160,7 @@ public class RemoteControlledSampler implements Sampler {
     private Sampler initialSampler;
     private Metrics metrics;
     private int pollingIntervalMs = DEFAULT_POLLING_INTERVAL_MS;
+    private PeriodicScheduler scheduler;
 
     public Builder(String serviceName) {
       this.serviceName = serviceName;
@@ -187,6 +186,15 @@ public class RemoteControlledSampler implements Sampler {
       return this;
     }
 
+    /**
+     * @param scheduler runs the polling, by default the {@link PeriodicScheduler#getDefaultForPolling() shared
+     *     one}
+     */
+    public Builder withScheduler(PeriodicScheduler scheduler) {
+      this.scheduler = scheduler;
+      return this;
+    }
+
     public RemoteControlledSampler build() {
       if (samplingManager == null) {
         samplingManager = new HttpSamplingManager();
@@ -195,7 +203,10 @@ public class RemoteControlledSampler implements Sampler {
         initialSampler = new ProbabilisticSampler(0.001);
       }
       if (metrics == null) {
-        metrics = new Metrics(new InMemoryMetricsFactory());
+        metrics = new Metrics(new StripedMetricsFactory());
+      }
+      if (scheduler == null) {
+        scheduler = PeriodicScheduler.getDefaultForPolling();
       }
       return new RemoteControlledSampler(this);
     }
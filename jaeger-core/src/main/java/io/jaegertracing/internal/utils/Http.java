@@ -29,6 +29,8 @@ public class Http {
     URL url = new URL(urlToRead);
     HttpURLConnection conn = (HttpURLConnection) url.openConnection();
     conn.setConnectTimeout(TIMEOUT_MS);
+    // the polls of the agent share a few threads, an agent which never answers must not hold one forever
+    conn.setReadTimeout(TIMEOUT_MS);
     StringBuilder result = new StringBuilder();
     try {
       conn.setRequestMethod("GET");
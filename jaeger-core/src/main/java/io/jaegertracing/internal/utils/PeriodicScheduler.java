@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.utils;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the periodic tasks of the tracer, like flushing the reporter and polling the agent for sampling strategies
+ * and baggage restrictions, on a {@link ScheduledExecutorService} which can be shared by all tracers of the JVM.
+ *
+ * <p>The delay between two runs of a task is randomized by up to {@code jitter} times its period, in both
+ * directions, so that the clients of a fleet started together do not hit the agent in lockstep. The first run
+ * happens after the exact initial delay.
+ *
+ * <p>Tasks run one after the other on the few threads of the executor, they should not block for long. The
+ * polls of the agent, which block on HTTP requests, run by default on {@link #getDefaultForPolling() their own
+ * shared scheduler} so that an unresponsive agent does not delay the flushes of the reporters.
+ */
+@Slf4j
+@ToString
+public class PeriodicScheduler {
+  public static final double DEFAULT_JITTER = 0.1;
+  private static final int DEFAULT_THREADS = 2;
+
+  @ToString.Exclude private final ScheduledExecutorService executor;
+  private final double jitter;
+
+  /**
+   * @param executor the executor running the tasks, it is not shut down by this scheduler
+   * @param jitter the fraction of the period by which the delay between two runs is randomized, from 0 to 1
+   */
+  public PeriodicScheduler(ScheduledExecutorService executor, double jitter) {
+    if (executor == null) {
+      throw new NullPointerException("executor");
+    }
+    if (jitter < 0 || jitter >= 1) {
+      throw new IllegalArgumentException("Jitter must be in [0, 1): " + jitter);
+    }
+    this.executor = executor;
+    this.jitter = jitter;
+  }
+
+  /**
+   * @return the scheduler shared by all the tracers which are not configured with their own, it runs the tasks on
+   *     two daemon threads with a jitter of {@link #DEFAULT_JITTER}
+   */
+  public static PeriodicScheduler getDefault() {
+    return DefaultHolder.INSTANCE;
+  }
+
+  /**
+   * @return the scheduler shared by the pollers of sampling strategies and baggage restrictions which are not
+   *     configured with their own, like {@link #getDefault()} but on separate threads
+   */
+  public static PeriodicScheduler getDefaultForPolling() {
+    return DefaultHolder.POLLING;
+  }
+
+  /**
+   * Runs the task after the initial delay, then every period, more or less the jitter.
+   *
+   * @return the handle to cancel the task
+   */
+  public Task schedule(Runnable runnable, long initialDelayMs, long periodMs) {
+    if (periodMs <= 0) {
+      throw new IllegalArgumentException("Period must be positive: " + periodMs);
+    }
+    Task task = new Task(runnable, periodMs);
+    task.scheduleNext(initialDelayMs);
+    return task;
+  }
+
+  long nextDelay(long periodMs) {
+    long spread = (long) (periodMs * jitter);
+    if (spread == 0) {
+      return periodMs;
+    }
+    return periodMs - spread + ThreadLocalRandom.current().nextLong(2 * spread + 1);
+  }
+
+  /**
+   * A task scheduled by {@link #schedule}. An exception thrown by the task is logged, and neither an exception nor
+   * an error prevents the next runs.
+   */
+  public final class Task implements Runnable {
+    private final Runnable runnable;
+    private final long periodMs;
+    private volatile boolean cancelled;
+    private ScheduledFuture<?> future;
+
+    private Task(Runnable runnable, long periodMs) {
+      this.runnable = runnable;
+      this.periodMs = periodMs;
+    }
+
+    @Override
+    public void run() {
+      if (cancelled) {
+        return;
+      }
+      try {
+        runnable.run();
+      } catch (RuntimeException e) {
+        log.error("Periodic task failed", e);
+      } finally {
+        // an error thrown by the task must not stop the next runs either
+        scheduleNext(nextDelay(periodMs));
+      }
+    }
+
+    private synchronized void scheduleNext(long delayMs) {
+      if (cancelled) {
+        return;
+      }
+      try {
+        future = executor.schedule(this, delayMs, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        log.warn("The executor rejected a periodic task, it will not run anymore", e);
+        cancelled = true;
+      }
+    }
+
+    /**
+     * Prevents the next runs of the task, the current run if any is not interrupted.
+     */
+    public synchronized void cancel() {
+      cancelled = true;
+      if (future != null) {
+        future.cancel(false);
+      }
+    }
+
+    public boolean isCancelled() {
+      return cancelled;
+    }
+  }
+
+  private static class DefaultHolder {
+    static final PeriodicScheduler INSTANCE =
+        new PeriodicScheduler(newDaemonExecutor("jaeger.Scheduler-"), DEFAULT_JITTER);
+    static final PeriodicScheduler POLLING =
+        new PeriodicScheduler(newDaemonExecutor("jaeger.Poller-"), DEFAULT_JITTER);
+
+    private static ScheduledExecutorService newDaemonExecutor(final String threadNamePrefix) {
+      final AtomicInteger threadCount = new AtomicInteger();
+      ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(DEFAULT_THREADS, new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+      // cancelled tasks of closed tracers must not pile up in the queue until their delay expires
+      executor.setRemoveOnCancelPolicy(true);
+      return executor;
+    }
+  }
+}
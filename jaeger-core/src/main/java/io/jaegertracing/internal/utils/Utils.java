@@ -16,6 +16,7 @@ package io.jaegertracing.internal.utils;
 
 import io.jaegertracing.internal.exceptions.EmptyIpException;
 import io.jaegertracing.internal.exceptions.NotFourOctetsException;
+import io.jaegertracing.internal.propagation.HexCodec;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Locale;
@@ -62,11 +63,7 @@ public class Utils {
   }
 
   public static String to16HexString(long id) {
-    final String hex = Long.toHexString(id);
-    if (hex.length() == 16) {
-      return hex;
-    }
-    return "0000000000000000".substring(hex.length()) + hex;
+    return HexCodec.toLowerHex(id);
   }
 
   private Utils() {}
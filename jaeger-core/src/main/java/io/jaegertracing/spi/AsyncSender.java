@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.spi;
+
+import io.jaegertracing.internal.exceptions.SenderException;
+
+/**
+ * A {@link Sender} which may complete sending after {@link #append} or {@link #flush} returned. Spans sent that
+ * way are not included in the counts those methods return, their outcome is reported to the {@link Callback}
+ * instead.
+ */
+public interface AsyncSender extends Sender {
+  /**
+   * Sets the callback notified of asynchronously completed sends. Reporters call this once, before appending
+   * the first span.
+   */
+  void setCallback(Callback callback);
+
+  interface Callback {
+    /**
+     * @param spanCount the number of spans which were sent
+     */
+    void onSuccess(int spanCount);
+
+    /**
+     * @param e the failure, with the number of spans which were dropped
+     */
+    void onFailure(SenderException e);
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.spi;
+
+import io.jaegertracing.internal.JaegerSpan;
+import io.jaegertracing.internal.exceptions.SenderException;
+
+/**
+ * A {@link Sender} which can encode spans into its wire format on any thread. Reporters can then encode spans on
+ * the threads finishing them and buffer the compact encoded bytes instead of the span object graphs.
+ */
+public interface EncodingSender extends Sender {
+  /**
+   * Encodes the span. Unlike the other methods this must be thread safe.
+   *
+   * @return the encoded span, to be passed to {@link #appendEncoded(byte[])}
+   */
+  byte[] encode(JaegerSpan span) throws SenderException;
+
+  /**
+   * Like {@link #append(JaegerSpan)}, for a span encoded by {@link #encode(JaegerSpan)}.
+   *
+   * @return the number of spans sent
+   */
+  int appendEncoded(byte[] encodedSpan) throws SenderException;
+}
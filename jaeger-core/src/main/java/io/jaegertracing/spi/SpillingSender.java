@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.spi;
+
+import io.jaegertracing.internal.exceptions.SenderException;
+
+/**
+ * A {@link Sender} which hands the batches it failed to send, already serialized, to a {@link Spill} and can
+ * send them again later. Reporters use this to keep spans through short outages of the agent or collector.
+ */
+public interface SpillingSender extends Sender {
+  /**
+   * Sets the spill which receives failed batches. Reporters call this once, before appending the first span.
+   *
+   * @throws UnsupportedOperationException if the sender cannot spill failed batches as configured
+   */
+  void setSpill(Spill spill);
+
+  /**
+   * Sends a batch which was handed to the {@link Spill} before. Must be called from the thread which appends
+   * spans.
+   *
+   * @return the number of spans sent, 0 if they are sent asynchronously
+   */
+  int sendSpilled(byte[] batch, int offset, int length, int spanCount) throws SenderException;
+
+  interface Spill {
+    /**
+     * Called with a batch the sender failed to send. The bytes are only valid during the call.
+     *
+     * @return true if the batch was kept, in which case its spans must not be counted as dropped
+     */
+    boolean spill(byte[] batch, int offset, int length, int spanCount);
+  }
+}
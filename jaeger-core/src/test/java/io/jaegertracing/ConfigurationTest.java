@@ -66,6 +66,14 @@ public class ConfigurationTest {
     System.clearProperty(Configuration.JAEGER_REPORTER_LOG_SPANS);
     System.clearProperty(Configuration.JAEGER_REPORTER_MAX_QUEUE_SIZE);
     System.clearProperty(Configuration.JAEGER_REPORTER_FLUSH_INTERVAL);
+    System.clearProperty(Configuration.JAEGER_REPORTER_RING_BUFFER);
+    System.clearProperty(Configuration.JAEGER_REPORTER_MAX_QUEUE_BYTES);
+    System.clearProperty(Configuration.JAEGER_REPORTER_PRIORITY_QUEUE_SIZE);
+    System.clearProperty(Configuration.JAEGER_REPORTER_LANES);
+    System.clearProperty(Configuration.JAEGER_REPORTER_PRE_ENCODING);
+    System.clearProperty(Configuration.JAEGER_REPORTER_ADAPTIVE_FLUSH);
+    System.clearProperty(Configuration.JAEGER_REPORTER_SPILL_PATH);
+    System.clearProperty(Configuration.JAEGER_REPORTER_SPILL_MAX_BYTES);
     System.clearProperty(Configuration.JAEGER_SAMPLER_TYPE);
     System.clearProperty(Configuration.JAEGER_SAMPLER_PARAM);
     System.clearProperty(Configuration.JAEGER_SAMPLER_MANAGER_HOST_PORT);
@@ -75,6 +83,7 @@ public class ConfigurationTest {
     System.clearProperty(Configuration.JAEGER_AUTH_TOKEN);
     System.clearProperty(Configuration.JAEGER_USER);
     System.clearProperty(Configuration.JAEGER_PASSWORD);
+    System.clearProperty(Configuration.JAEGER_ENDPOINT_COMPRESSION);
     System.clearProperty(Configuration.JAEGER_PROPAGATION);
     System.clearProperty(Configuration.JAEGER_TRACEID_128BIT);
 
@@ -133,6 +142,57 @@ public class ConfigurationTest {
     assertEquals(1000, reporterConfig.getMaxQueueSize().intValue());
   }
 
+  @Test
+  public void testReporterConfigurationMaxQueueBytes() {
+    System.setProperty(Configuration.JAEGER_REPORTER_MAX_QUEUE_BYTES, "1048576");
+    ReporterConfiguration reporterConfig = ReporterConfiguration.fromEnv();
+    assertEquals(1048576, reporterConfig.getMaxQueueBytes().intValue());
+  }
+
+  @Test
+  public void testReporterConfigurationPriorityQueueSize() {
+    System.setProperty(Configuration.JAEGER_REPORTER_PRIORITY_QUEUE_SIZE, "50");
+    ReporterConfiguration reporterConfig = ReporterConfiguration.fromEnv();
+    assertEquals(50, reporterConfig.getPriorityQueueSize().intValue());
+  }
+
+  @Test
+  public void testReporterConfigurationPreEncoding() {
+    System.setProperty(Configuration.JAEGER_REPORTER_PRE_ENCODING, "true");
+    ReporterConfiguration reporterConfig = ReporterConfiguration.fromEnv();
+    assertTrue(reporterConfig.getPreEncoding());
+  }
+
+  @Test
+  public void testReporterConfigurationAdaptiveFlush() {
+    System.setProperty(Configuration.JAEGER_REPORTER_ADAPTIVE_FLUSH, "true");
+    ReporterConfiguration reporterConfig = ReporterConfiguration.fromEnv();
+    assertTrue(reporterConfig.getAdaptiveFlush());
+  }
+
+  @Test
+  public void testReporterConfigurationLanes() {
+    System.setProperty(Configuration.JAEGER_REPORTER_LANES, "4");
+    ReporterConfiguration reporterConfig = ReporterConfiguration.fromEnv();
+    assertEquals(4, reporterConfig.getLanes().intValue());
+  }
+
+  @Test
+  public void testReporterConfigurationRingBuffer() {
+    System.setProperty(Configuration.JAEGER_REPORTER_RING_BUFFER, "true");
+    ReporterConfiguration reporterConfig = ReporterConfiguration.fromEnv();
+    assertTrue(reporterConfig.getRingBuffer());
+  }
+
+  @Test
+  public void testReporterConfigurationSpill() {
+    System.setProperty(Configuration.JAEGER_REPORTER_SPILL_PATH, "/tmp/jaeger.spill");
+    System.setProperty(Configuration.JAEGER_REPORTER_SPILL_MAX_BYTES, "1048576");
+    ReporterConfiguration reporterConfig = ReporterConfiguration.fromEnv();
+    assertEquals("/tmp/jaeger.spill", reporterConfig.getSpillPath());
+    assertEquals(1048576, reporterConfig.getSpillMaxBytes().intValue());
+  }
+
   @Test
   public void testReporterConfigurationInvalidFlushInterval() {
     System.setProperty(Configuration.JAEGER_REPORTER_FLUSH_INTERVAL, "X");
@@ -207,6 +267,12 @@ public class ConfigurationTest {
         .getSenderConfiguration().getAgentPort());
   }
 
+  @Test
+  public void testSenderConfigurationEndpointCompression() {
+    System.setProperty(Configuration.JAEGER_ENDPOINT_COMPRESSION, "gzip");
+    assertEquals("gzip", SenderConfiguration.fromEnv().getEndpointCompression());
+  }
+
   @Test
   public void testSenderInstanceIsCached() {
     SenderConfiguration senderConfiguration = SenderConfiguration.fromEnv();
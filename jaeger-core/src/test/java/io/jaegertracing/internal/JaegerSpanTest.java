@@ -19,6 +19,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -139,6 +140,8 @@ public class JaegerSpanTest {
 
     jaegerSpan.setTag(key, expected);
     assertEquals(expected, jaegerSpan.getTags().get(key));
+    assertEquals(expected, jaegerSpan.getTag(key));
+    assertNull(jaegerSpan.getTag("missing"));
   }
 
   @Test
@@ -202,6 +205,17 @@ public class JaegerSpanTest {
     assertEquals(Utils.to16HexString(jaegerSpan.context().getSpanId()), jaegerSpan.context().toSpanId());
   }
 
+  @Test
+  public void testIdStringsAreCached() {
+    JaegerSpanContext context = new JaegerSpanContext(0x1234L, 0xabcdL, 0xffL, 0, (byte) 1);
+    assertEquals("0000000000001234000000000000abcd", context.toTraceId());
+    assertEquals("00000000000000ff", context.toSpanId());
+    assertSame(context.toTraceId(), context.getTraceId());
+    assertSame(context.toSpanId(), context.toSpanId());
+
+    assertEquals("000000000000abcd", new JaegerSpanContext(0, 0xabcdL, 1, 0, (byte) 1).getTraceId());
+  }
+
   @Test
   public void testWithTimestampAccurateClock() {
     testWithTimestamp(true);
@@ -477,6 +491,17 @@ public class JaegerSpanTest {
     assertFalse(baggageIter.hasNext());
   }
 
+  @Test(expected = UnsupportedOperationException.class)
+  public void testBaggageItemsViewIsReadOnly() {
+    JaegerSpan span = tracer.buildSpan("foo").start();
+    span.setBaggageItem("foo", "bar");
+    assertFalse(tracer.buildSpan("bar").start().context().baggageItemsView().iterator().hasNext());
+
+    Iterator<Entry<String, String>> baggageIter = span.context().baggageItemsView().iterator();
+    assertEquals("bar", baggageIter.next().getValue());
+    baggageIter.remove();
+  }
+
   @Test
   public void testExpandExceptionLogs() {
     RuntimeException ex = new RuntimeException(new NullPointerException("npe"));
@@ -568,6 +593,67 @@ public class JaegerSpanTest {
     assertEquals(0, reporter.getSpans().size());
   }
 
+  @Test
+  public void testUnsampledSpanDropsTagsAndLogs() {
+    Clock clock = mock(Clock.class);
+    JaegerTracer tracer = new JaegerTracer.Builder("fo")
+        .withReporter(reporter)
+        .withSampler(new ConstSampler(false))
+        .withClock(clock)
+        .build();
+    JaegerSpan span = tracer.buildSpan("foo").withTag("builder", "tag").start();
+    assertTrue(span instanceof UnsampledJaegerSpan);
+
+    span.setTag("foo", "bar").setTag("bool", true).setTag("number", 1);
+    span.setTag(new StringTag("typed"), "tag");
+    span.log("event").log(Collections.singletonMap("field", "value"));
+    span.finish();
+
+    assertTrue(span.getTags().isEmpty());
+    assertNull(span.getLogs());
+    assertEquals(0, reporter.getSpans().size());
+    // only read by start(), logs of an unsampled span do not need a timestamp
+    verify(clock, Mockito.times(1)).currentTimeMicros();
+  }
+
+  @Test
+  public void testUnsampledSpanSamplingPriority() {
+    JaegerTracer tracer = new JaegerTracer.Builder("fo")
+        .withReporter(reporter)
+        .withSampler(new ConstSampler(false))
+        .build();
+    JaegerSpan span = tracer.buildSpan("foo").start();
+    span.setTag("dropped", "tag");
+    Tags.SAMPLING_PRIORITY.set(span, 1);
+    span.setTag("foo", "bar");
+    span.log("event");
+    span.finish();
+
+    assertTrue(span.context().isSampled());
+    assertTrue(span.context().isDebug());
+    assertEquals("bar", span.getTags().get("foo"));
+    assertFalse(span.getTags().containsKey("dropped"));
+    assertEquals(1, span.getLogs().size());
+    assertEquals(1, reporter.getSpans().size());
+  }
+
+  @Test
+  public void testUnsampledSpanSamplingPriorityFromBuilder() {
+    JaegerTracer tracer = new JaegerTracer.Builder("fo")
+        .withReporter(reporter)
+        .withSampler(new ConstSampler(false))
+        .build();
+    JaegerSpan span = tracer.buildSpan("foo")
+        .withTag(Tags.SAMPLING_PRIORITY.getKey(), 1)
+        .withTag("foo", "bar")
+        .start();
+    span.finish();
+
+    assertTrue(span.context().isSampled());
+    assertEquals("bar", span.getTags().get("foo"));
+    assertEquals(1, reporter.getSpans().size());
+  }
+
   @Test
   public void testAsChildOfIgnoreUnexpectedContextImpl() {
     JaegerTracer tracer = new JaegerTracer.Builder("foo")
@@ -632,6 +718,32 @@ public class JaegerSpanTest {
     span.context().baggageItems().forEach(entry -> span.setBaggageItem("foo2", "bar"));
   }
 
+  @Test
+  public void testEstimateRetainedBytes() {
+    int empty = jaegerSpan.estimateRetainedBytes();
+    assertTrue(empty >= SpanSizeEstimator.SPAN_BYTES);
+
+    jaegerSpan.setTag("key", "value");
+    int tagged = jaegerSpan.estimateRetainedBytes();
+    assertTrue(tagged > empty);
+
+    jaegerSpan.log(Collections.singletonMap("event", "a long message, longer than the tag"));
+    int logged = jaegerSpan.estimateRetainedBytes();
+    assertTrue(logged - tagged > tagged - empty);
+
+    jaegerSpan.setBaggageItem("baggage", "item");
+    assertTrue(jaegerSpan.estimateRetainedBytes() > logged);
+  }
+
+  @Test
+  public void testEstimateRetainedBytesCountsReferences() {
+    JaegerSpan child = tracer.buildSpan("child").asChildOf(jaegerSpan).start();
+    JaegerSpan follower = tracer.buildSpan("child").asChildOf(jaegerSpan)
+        .addReference(References.FOLLOWS_FROM, jaegerSpan.context()).start();
+    assertEquals(SpanSizeEstimator.REFERENCE_BYTES,
+        follower.estimateRetainedBytes() - child.estimateRetainedBytes());
+  }
+
   @Test
   public void testSamplingTagOrder() {
     // See: https://github.com/jaegertracing/jaeger-client-java/issues/738
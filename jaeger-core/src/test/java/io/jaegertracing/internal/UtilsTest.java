@@ -20,6 +20,7 @@ import static org.junit.Assert.assertThat;
 
 import io.jaegertracing.internal.exceptions.EmptyIpException;
 import io.jaegertracing.internal.exceptions.NotFourOctetsException;
+import io.jaegertracing.internal.propagation.HexCodec;
 import io.jaegertracing.internal.utils.Utils;
 import org.junit.Test;
 
@@ -61,4 +62,20 @@ public class UtilsTest {
   public void testIpToInt32_broadcast() {
     assertThat(Utils.ipToInt("255.255.255.255"), equalTo(-1));
   }
+
+  @Test
+  public void testTo16HexString() {
+    assertEquals("0000000000000000", Utils.to16HexString(0));
+    assertEquals("0000000000000001", Utils.to16HexString(1));
+    assertEquals("00000000deadbeef", Utils.to16HexString(0xdeadbeefL));
+    assertEquals("ffffffffffffffff", Utils.to16HexString(-1));
+    assertEquals("8000000000000000", Utils.to16HexString(Long.MIN_VALUE));
+  }
+
+  @Test
+  public void testWriteHexLong() {
+    char[] data = "xx0000000000000000xx".toCharArray();
+    HexCodec.writeHexLong(data, 2, 0x0123456789abcdefL);
+    assertEquals("xx0123456789abcdefxx", new String(data));
+  }
 }
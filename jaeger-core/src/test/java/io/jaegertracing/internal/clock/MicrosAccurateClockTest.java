@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.clock;
+
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.Test;
+
+public class MicrosAccurateClockTest {
+
+  @Test
+  public void testCurrentTimeMicros() {
+    long before = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    long micros = MicrosAccurateClock.INSTANCE.currentTimeMicros();
+    long after = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    assertTrue(before <= micros);
+    assertTrue(micros <= after);
+  }
+
+  @Test
+  public void testIsMicrosAccurate() {
+    assertTrue(MicrosAccurateClock.INSTANCE.isMicrosAccurate());
+  }
+}
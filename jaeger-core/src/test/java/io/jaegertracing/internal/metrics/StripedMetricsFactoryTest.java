@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import io.jaegertracing.internal.JaegerTracer;
+import io.jaegertracing.internal.reporters.InMemoryReporter;
+import io.jaegertracing.internal.samplers.ConstSampler;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+
+public class StripedMetricsFactoryTest {
+
+  @Test
+  public void metricNameIsUsed() {
+    Map<String, String> tags = Collections.singletonMap("foo", "bar");
+
+    StripedMetricsFactory metricsFactory = new StripedMetricsFactory();
+    metricsFactory.createCounter("thecounter", tags);
+    metricsFactory.createTimer("thetimer", tags);
+    metricsFactory.createGauge("thegauge", tags);
+
+    assertEquals(-1, metricsFactory.getCounter("thecounter", Collections.emptyMap()));
+    assertEquals(0, metricsFactory.getCounter("thecounter", tags));
+    assertEquals(-1, metricsFactory.getTimer("thetimer", Collections.emptyMap()));
+    assertEquals(0, metricsFactory.getTimer("thetimer", "foo=bar"));
+    assertEquals(-1, metricsFactory.getGauge("thegauge", ""));
+    assertEquals(0, metricsFactory.getGauge("thegauge", tags));
+  }
+
+  @Test
+  public void valuesAreUpdated() {
+    StripedMetricsFactory metricsFactory = new StripedMetricsFactory();
+    final Counter counter = metricsFactory.createCounter("thecounter", Collections.emptyMap());
+    final Timer timer = metricsFactory.createTimer("thetimer", Collections.emptyMap());
+    final Gauge gauge = metricsFactory.createGauge("thegauge", Collections.emptyMap());
+
+    counter.inc(1);
+    counter.inc(2);
+    timer.durationMicros(10);
+    timer.durationMicros(5);
+    gauge.update(7);
+    gauge.update(3);
+
+    assertEquals(3, metricsFactory.getCounter("thecounter", ""));
+    assertEquals(15, metricsFactory.getTimer("thetimer", ""));
+    assertEquals(3, metricsFactory.getGauge("thegauge", ""));
+  }
+
+  @Test
+  public void concurrentIncrementsAreNotLost() throws InterruptedException {
+    StripedMetricsFactory metricsFactory = new StripedMetricsFactory();
+    final Counter counter = metricsFactory.createCounter("thecounter", Collections.emptyMap());
+    final int threads = 8;
+    final int increments = 10000;
+    final CountDownLatch done = new CountDownLatch(threads);
+    for (int i = 0; i < threads; i++) {
+      new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int j = 0; j < increments; j++) {
+            counter.inc(1);
+          }
+          done.countDown();
+        }
+      }).start();
+    }
+    done.await();
+
+    assertEquals(threads * increments, metricsFactory.getCounter("thecounter", ""));
+  }
+
+  @Test
+  public void snapshotsAreSortedCopies() {
+    StripedMetricsFactory metricsFactory = new StripedMetricsFactory();
+    final Counter counter = metricsFactory.createCounter("b", Collections.emptyMap());
+    metricsFactory.createCounter("a", Collections.singletonMap("foo", "bar"));
+    metricsFactory.createTimer("thetimer", Collections.emptyMap()).durationMicros(4);
+    metricsFactory.createGauge("thegauge", Collections.emptyMap()).update(9);
+    counter.inc(2);
+
+    Map<String, Long> counters = metricsFactory.snapshotCounters();
+    counter.inc(1);
+
+    assertEquals("{a.foo=bar=0, b=2}", counters.toString());
+    assertEquals(Collections.singletonMap("thetimer", 4L), metricsFactory.snapshotTimers());
+    assertEquals(Collections.singletonMap("thegauge", 9L), metricsFactory.snapshotGauges());
+  }
+
+  @Test
+  public void canBeUsedWithMetrics() {
+    StripedMetricsFactory metricsFactory = new StripedMetricsFactory();
+    JaegerTracer tracer = new JaegerTracer.Builder("metricsFactoryTest")
+            .withReporter(new InMemoryReporter())
+            .withSampler(new ConstSampler(true))
+            .withMetrics(new Metrics(metricsFactory))
+            .build();
+
+    tracer.buildSpan("theoperation").start();
+    assertEquals(1, metricsFactory.getCounter("jaeger_tracer_started_spans", "sampled=y"));
+    assertEquals(0, metricsFactory.getCounter("jaeger_tracer_started_spans", "sampled=n"));
+    assertEquals(1, metricsFactory.getCounter("jaeger_tracer_traces", "sampled=y,state=started"));
+  }
+}
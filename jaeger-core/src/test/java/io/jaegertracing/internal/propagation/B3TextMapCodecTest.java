@@ -16,6 +16,7 @@ package io.jaegertracing.internal.propagation;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import io.jaegertracing.internal.JaegerSpanContext;
@@ -130,6 +131,106 @@ public class B3TextMapCodecTest {
     assertEquals(traceIdHigh, HexCodec.higherHexToUnsignedLong(traceId).longValue());
   }
 
+  @Test
+  public void testExtractSingleHeader() {
+    DelegatingTextMap textMap = new DelegatingTextMap();
+    textMap.put(B3TextMapCodec.SINGLE_HEADER_NAME,
+        "463ac35c9f6413ad48485a3953bb6124-a2fb4a1d1a96d312-d-0020000000000001");
+    textMap.put(B3TextMapCodec.BAGGAGE_PREFIX + "foo", "bar");
+
+    JaegerSpanContext context = b3Codec.extract(textMap);
+    assertEquals(0x463ac35c9f6413adL, context.getTraceIdHigh());
+    assertEquals(0x48485a3953bb6124L, context.getTraceIdLow());
+    assertEquals(0xa2fb4a1d1a96d312L, context.getSpanId());
+    assertEquals(0x0020000000000001L, context.getParentId());
+    assertEquals(B3TextMapCodec.SAMPLED_FLAG | B3TextMapCodec.DEBUG_FLAG, context.getFlags());
+    assertEquals("bar", context.getBaggageItem("foo"));
+  }
+
+  @Test
+  public void testExtractSingleHeaderWithOptionalFieldsOmitted() {
+    DelegatingTextMap textMap = new DelegatingTextMap();
+    textMap.put("B3", "48485a3953bb6124-a2fb4a1d1a96d312");
+    JaegerSpanContext context = b3Codec.extract(textMap);
+    assertEquals(0, context.getTraceIdHigh());
+    assertEquals(0x48485a3953bb6124L, context.getTraceIdLow());
+    assertEquals(0, context.getParentId());
+    assertEquals(0, context.getFlags());
+
+    textMap.put("B3", "48485a3953bb6124-a2fb4a1d1a96d312-1");
+    assertEquals(B3TextMapCodec.SAMPLED_FLAG, b3Codec.extract(textMap).getFlags());
+  }
+
+  @Test
+  public void testExtractInvalidSingleHeader() {
+    String[] invalidHeaders = {
+        "0",
+        "48485a3953bb6124-a2fb4a1d1a96d312-",
+        "48485a3953bb6124-a2fb4a1d1a96d312-x",
+        "48485a3953bb6124-a2fb4a1d1a96d312-1-",
+        "48485a3953bb6124-a2fb4a1d1a96d312-1-00000000000000001",
+        "48485a3953bb6124-a2fb4a1d1a96d312-10000000000000001",
+        "48485A3953BB6124-a2fb4a1d1a96d312",
+        "485a3953bb6124-a2fb4a1d1a96d312",
+        "48485a3953bb6124-a2fb4a1d1a96d31",
+    };
+    for (String header : invalidHeaders) {
+      DelegatingTextMap textMap = new DelegatingTextMap();
+      textMap.put(B3TextMapCodec.SINGLE_HEADER_NAME, header);
+      assertNull(header, b3Codec.extract(textMap));
+    }
+  }
+
+  @Test
+  public void testSingleHeaderTakesPrecedence() {
+    DelegatingTextMap textMap = new DelegatingTextMap();
+    textMap.put(B3TextMapCodec.TRACE_ID_NAME, "1");
+    textMap.put(B3TextMapCodec.SPAN_ID_NAME, "2");
+    textMap.put(B3TextMapCodec.SINGLE_HEADER_NAME, "0000000000000003-0000000000000004-1");
+    assertEquals(3, b3Codec.extract(textMap).getTraceIdLow());
+
+    // an invalid single header is ignored
+    textMap.put(B3TextMapCodec.SINGLE_HEADER_NAME, "3-4-1");
+    assertEquals(1, b3Codec.extract(textMap).getTraceIdLow());
+  }
+
+  @Test
+  public void testExtractInvalidIds() {
+    DelegatingTextMap textMap = new DelegatingTextMap();
+    textMap.put(B3TextMapCodec.TRACE_ID_NAME, "zz463ac35c9f6413ad");
+    textMap.put(B3TextMapCodec.SPAN_ID_NAME, "2");
+    assertNull(b3Codec.extract(textMap));
+
+    textMap.put(B3TextMapCodec.TRACE_ID_NAME, "1");
+    textMap.put(B3TextMapCodec.PARENT_SPAN_ID_NAME, "");
+    assertNull(b3Codec.extract(textMap));
+  }
+
+  @Test
+  public void testInjectSingleHeader() {
+    B3TextMapCodec b3Codec = new B3TextMapCodec.Builder()
+        .withSingleHeaderInjection(true)
+        .build();
+
+    DelegatingTextMap textMap = new DelegatingTextMap();
+    JaegerSpanContext spanContext = new JaegerSpanContext(2L, 1L, 3L, 4L, SAMPLED)
+        .withBaggageItem("foo", "bar");
+    b3Codec.inject(spanContext, textMap);
+    assertEquals(2, textMap.delegate.size());
+    assertEquals("00000000000000020000000000000001-0000000000000003-1-0000000000000004",
+        textMap.get(B3TextMapCodec.SINGLE_HEADER_NAME));
+    assertEquals("bar", textMap.get("baggage-foo"));
+
+    textMap = new DelegatingTextMap();
+    b3Codec.inject(new JaegerSpanContext(0L, 1L, 3L, 0L, (byte) (SAMPLED | B3TextMapCodec.DEBUG_FLAG)), textMap);
+    assertEquals("0000000000000001-0000000000000003-d", textMap.get(B3TextMapCodec.SINGLE_HEADER_NAME));
+
+    JaegerSpanContext extracted = b3Codec.extract(textMap);
+    assertEquals(1L, extracted.getTraceIdLow());
+    assertEquals(3L, extracted.getSpanId());
+    assertTrue(extracted.isDebug());
+  }
+
   static class DelegatingTextMap implements TextMap {
     final Map<String, String> delegate = new LinkedHashMap<>();
 
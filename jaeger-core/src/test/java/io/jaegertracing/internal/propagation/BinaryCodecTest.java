@@ -14,6 +14,7 @@
 
 package io.jaegertracing.internal.propagation;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -23,6 +24,7 @@ import io.jaegertracing.internal.JaegerSpanContext;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -148,4 +150,50 @@ public class BinaryCodecTest {
     assertEquals(val1, outContext.getBaggageItem(key1));
     assertEquals(val2, outContext.getBaggageItem(key2));
   }
+
+  @Test
+  public void testBaggageWithMultibyteValues() {
+    Map<String, String> baggage = new HashMap<String, String>();
+    baggage.put("caf\u00e9", "\u00fcber \u20ac \ud83d\ude00"); // 2, 3 and 4 bytes characters
+    baggage.put("plain", "value");
+
+    JaegerSpanContext inContext = new JaegerSpanContext(0L, 1L, 1L, 1L, (byte)1)
+        .withBaggage(baggage);
+
+    BinaryCodec codec = new BinaryCodec();
+    TestBinaryCarrier carrier = new TestBinaryCarrier();
+    codec.inject(inContext, carrier);
+    assertEquals(0, carrier.buffer.remaining());
+
+    JaegerSpanContext outContext = codec.extract(carrier);
+    assertEquals(0, carrier.buffer.remaining());
+    assertEquals(baggage.get("caf\u00e9"), outContext.getBaggageItem("caf\u00e9")); // café
+    assertEquals("value", outContext.getBaggageItem("plain"));
+  }
+
+  @Test
+  public void testUtf8Length() {
+    String[] values = {"", "abc", "\u00e9", "\u20ac", "\ud83d\ude00", "a\ud83dz", "\ude00", "\ud83d"}; // unpaired too
+    for (String value : values) {
+      assertEquals(value, value.getBytes(StandardCharsets.UTF_8).length, BinaryCodec.utf8Length(value));
+    }
+  }
+
+  @Test
+  public void testInjectWritesUtf8LikeGetBytes() {
+    String value = "a\u00e9\u20ac\ud83d\ude00\ud83dz"; // 1 to 4 bytes characters, then an unpaired surrogate
+    JaegerSpanContext context = new JaegerSpanContext(0L, 1L, 1L, 1L, (byte)1)
+        .withBaggageItem("k", value);
+
+    TestBinaryCarrier carrier = new TestBinaryCarrier();
+    new BinaryCodec().inject(context, carrier);
+
+    byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer buf = carrier.buffer;
+    buf.position(buf.capacity() - expected.length - 4);
+    assertEquals(expected.length, buf.getInt());
+    byte[] actual = new byte[expected.length];
+    buf.get(actual);
+    assertArrayEquals(expected, actual);
+  }
 }
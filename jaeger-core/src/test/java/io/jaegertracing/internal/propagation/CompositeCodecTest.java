@@ -16,14 +16,26 @@ package io.jaegertracing.internal.propagation;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import io.jaegertracing.internal.JaegerSpanContext;
 import io.jaegertracing.spi.Codec;
 import io.opentracing.propagation.TextMap;
+import io.opentracing.propagation.TextMapAdapter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -86,4 +98,122 @@ public class CompositeCodecTest {
     assertEquals("codec1 : codec2", composite.toString());
   }
 
+  @Test
+  public void testExtractWalksCarrierOnceAfterFirstCodec() {
+    Map<String, String> headers = new LinkedHashMap<String, String>();
+    for (int i = 0; i < 10; i++) {
+      headers.put("X-Other-" + i, "value");
+    }
+    headers.put("Traceparent", "00-00000000000000000000000000000001-0000000000000002-01");
+    CountingCarrier carrier = new CountingCarrier(headers);
+
+    JaegerSpanContext context = newMixedCodec().extract(carrier);
+    // once by the first codec, once for all the others
+    assertEquals(2, carrier.iterations);
+    assertEquals(1L, context.getTraceIdLow());
+    assertEquals(2L, context.getSpanId());
+  }
+
+  @Test
+  public void testFirstCodecIsHandedCarrierAsIs() {
+    Map<String, String> headers = new LinkedHashMap<String, String>();
+    headers.put("Uber-Trace-Id", "1:2:0:1");
+    headers.put("Traceparent", "00-00000000000000000000000000000003-0000000000000004-01");
+    CountingCarrier carrier = new CountingCarrier(headers);
+
+    JaegerSpanContext context = newMixedCodec().extract(carrier);
+    assertEquals(1, carrier.iterations);
+    assertEquals(1L, context.getTraceIdLow());
+    assertEquals(2L, context.getSpanId());
+  }
+
+  @Test
+  public void testExtractKeepsCodecOrder() {
+    Map<String, String> headers = new HashMap<String, String>();
+    headers.put("traceparent", "00-00000000000000000000000000000001-0000000000000002-01");
+    headers.put("X-B3-TRACEID", "0000000000000003");
+    headers.put("x-b3-spanid", "0000000000000004");
+    headers.put("Baggage-Key", "b3 baggage");
+    JaegerSpanContext context = newMixedCodec().extract(new TextMapAdapter(headers));
+    assertEquals(3L, context.getTraceIdLow());
+    assertEquals(4L, context.getSpanId());
+
+    headers.put("Uber-Trace-Id", "5:6:0:1");
+    context = newMixedCodec().extract(new TextMapAdapter(headers));
+    assertEquals(5L, context.getTraceIdLow());
+    assertEquals(6L, context.getSpanId());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCodecIsHandedOnlyItsKeys() {
+    Codec<TextMap> keyedCodec = mock(Codec.class, withSettings().extraInterfaces(ExtractedKeys.class));
+    when(((ExtractedKeys) keyedCodec).extractedKeys()).thenReturn(Collections.singletonList("My-Key"));
+    when(((ExtractedKeys) keyedCodec).extractedKeyPrefixes()).thenReturn(Collections.singletonList("my-"));
+    final List<String> seenKeys = new ArrayList<String>();
+    when(keyedCodec.extract(any(TextMap.class))).thenAnswer(invocation -> {
+      for (Map.Entry<String, String> entry : invocation.<TextMap>getArgument(0)) {
+        seenKeys.add(entry.getKey());
+      }
+      return mockContext;
+    });
+    CompositeCodec<TextMap> composite = new CompositeCodec<TextMap>(Arrays.<Codec<TextMap>>asList(
+        mockCodec1, keyedCodec, new TraceContextCodec.Builder().build()));
+
+    Map<String, String> headers = new LinkedHashMap<String, String>();
+    headers.put("other", "1");
+    assertNull(composite.extract(new TextMapAdapter(headers)));
+    verify(mockCodec1, times(1)).extract(any(TextMap.class));
+    verify(keyedCodec, never()).extract(any(TextMap.class));
+
+    headers.put("my-key", "2");
+    headers.put("MY-prefixed", "3");
+    assertEquals(mockContext, composite.extract(new TextMapAdapter(headers)));
+    assertEquals(Arrays.asList("my-key", "MY-prefixed"), seenKeys);
+  }
+
+  @Test
+  public void testSubclassReadingMoreKeysIsHandedWholeCarrier() {
+    TextMapCodec tenantCodec = new TextMapCodec(false) {
+      @Override
+      public JaegerSpanContext extract(TextMap carrier) {
+        String tenant = null;
+        for (Map.Entry<String, String> entry : carrier) {
+          if ("X-Tenant".equalsIgnoreCase(entry.getKey())) {
+            tenant = entry.getValue();
+          }
+        }
+        JaegerSpanContext context = super.extract(carrier);
+        return context != null && tenant != null ? context.withBaggageItem("tenant", tenant) : context;
+      }
+    };
+    CompositeCodec<TextMap> composite = new CompositeCodec<TextMap>(Arrays.<Codec<TextMap>>asList(
+        tenantCodec, new B3TextMapCodec.Builder().build()));
+
+    Map<String, String> headers = new HashMap<String, String>();
+    headers.put("uber-trace-id", "1:2:0:1");
+    headers.put("x-tenant", "acme");
+    JaegerSpanContext context = composite.extract(new TextMapAdapter(headers));
+    assertEquals(1L, context.getTraceIdLow());
+    assertEquals("acme", context.getBaggageItem("tenant"));
+  }
+
+  private static CompositeCodec<TextMap> newMixedCodec() {
+    return new CompositeCodec<TextMap>(Arrays.<Codec<TextMap>>asList(
+        new TextMapCodec(false), new B3TextMapCodec.Builder().build(), new TraceContextCodec.Builder().build()));
+  }
+
+  private static class CountingCarrier extends TextMapAdapter {
+    int iterations;
+
+    CountingCarrier(Map<String, String> map) {
+      super(map);
+    }
+
+    @Override
+    public Iterator<Map.Entry<String, String>> iterator() {
+      iterations++;
+      return super.iterator();
+    }
+  }
 }
@@ -17,6 +17,7 @@ package io.jaegertracing.internal.propagation;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import io.jaegertracing.internal.JaegerSpanContext;
@@ -236,4 +237,79 @@ public class TextMapCodecTest {
     assertEquals(1L, context.getSpanId());
     assertTrue(context.isSampled());
   }
+
+  @Test
+  public void testAdhocBaggageWhitespaceAndMalformedItems() {
+    Map<String, String> headers = new HashMap<>();
+    headers.put("jaeger-baggage", " k1 = v1 ,,=v2,k3=, k4 ,k5\t=\tv5,");
+    TextMapCodec codec = new TextMapCodec(false);
+    JaegerSpanContext context = codec.extract(new TextMapAdapter(headers));
+    assertEquals("v1", context.getBaggageItem("k1"));
+    assertEquals("v5", context.getBaggageItem("k5"));
+    assertEquals(2, context.baggageCount());
+  }
+
+  @Test
+  public void testExtractIgnoresCaseAndOtherKeys() {
+    Map<String, String> headers = new HashMap<>();
+    headers.put("Uber-Trace-ID", "2a:1:0:1");
+    headers.put("Jaeger-Debug-Id", "debug");
+    headers.put("UberCtx-Tenant-ID", "acme");
+    headers.put("uberctx-region", "eu");
+    headers.put("uber", "not a key");
+    headers.put("jaeger-other", "not a key");
+    headers.put("", "empty");
+    headers.put("Accept", "*/*");
+
+    TextMapCodec codec = new TextMapCodec(false);
+    JaegerSpanContext context = codec.extract(new TextMapAdapter(headers));
+
+    assertEquals(42, context.getTraceIdLow());
+    assertEquals("acme", context.getBaggageItem("tenant-id"));
+    assertEquals("eu", context.getBaggageItem("region"));
+    assertEquals(2, context.baggageCount());
+  }
+
+  @Test
+  public void testExtractDecodesOnlyEncodedValues() {
+    Map<String, String> headers = new HashMap<>();
+    headers.put("uberctx-plain", "a-b_c.d");
+    headers.put("uberctx-escaped", "a%2Cb");
+    headers.put("uberctx-space", "a+b");
+
+    TextMapCodec codec = new TextMapCodec(true);
+    JaegerSpanContext context = codec.extract(new TextMapAdapter(headers));
+
+    assertEquals("a-b_c.d", context.getBaggageItem("plain"));
+    assertEquals("a,b", context.getBaggageItem("escaped"));
+    assertEquals("a b", context.getBaggageItem("space"));
+  }
+
+  @Test
+  public void testExtractWithEmptyBaggagePrefix() {
+    Map<String, String> headers = new HashMap<>();
+    headers.put("uber-trace-id", "2a:1:0:1");
+    headers.put("Tenant", "acme");
+
+    TextMapCodec codec = TextMapCodec.builder().withBaggagePrefix("").build();
+    JaegerSpanContext context = codec.extract(new TextMapAdapter(headers));
+
+    assertEquals(42, context.getTraceIdLow());
+    assertEquals("acme", context.getBaggageItem("tenant"));
+  }
+
+  @Test
+  public void testInjectReusesContextString() {
+    TextMapCodec codec = new TextMapCodec(false);
+    JaegerSpanContext context = new JaegerSpanContext(0L, 42L, 1L, 2L, (byte) 1).withBaggageItem("k", "v");
+    Map<String, String> first = new HashMap<>();
+    Map<String, String> second = new HashMap<>();
+    codec.inject(context, new TextMapAdapter(first));
+    codec.inject(context, new TextMapAdapter(second));
+
+    assertEquals("000000000000002a:0000000000000001:0000000000000002:1", first.get("uber-trace-id"));
+    assertSame(first.get("uber-trace-id"), second.get("uber-trace-id"));
+    assertEquals(TextMapCodec.contextAsString(context), context.toString());
+    assertEquals("v", second.get("uberctx-k"));
+  }
 }
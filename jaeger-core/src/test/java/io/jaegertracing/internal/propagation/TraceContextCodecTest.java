@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.anyInt;
@@ -233,4 +234,82 @@ public class TraceContextCodecTest {
       reset(System.out);
     }
   }
+
+  @Test
+  public void testInjectReusesTraceParent() {
+    JaegerSpanContext spanContext = new JaegerSpanContext(1L, 2L, 3L, 0L, (byte) 1);
+    TraceContextCodec codec = new TraceContextCodec.Builder().build();
+    Map<String, String> first = new HashMap<>();
+    Map<String, String> second = new HashMap<>();
+    codec.inject(spanContext, new TextMapAdapter(first));
+    codec.inject(spanContext, new TextMapAdapter(second));
+
+    assertEquals("00-00000000000000010000000000000002-0000000000000003-01", first.get(TRACE_PARENT));
+    assertSame(first.get(TRACE_PARENT), second.get(TRACE_PARENT));
+    assertEquals(TraceContextCodec.traceParent(spanContext), spanContext.getTraceParent());
+  }
+
+  @Test
+  public void testExtractValidatesTraceParentStrictly() {
+    String[] invalid = {
+        "00-00000000000000000000000000000001-0000000000000002-00-extra",
+        "ff-00000000000000000000000000000001-0000000000000002-00",
+        "0g-00000000000000000000000000000001-0000000000000002-00",
+        "00-0000000000000000000000000000000A-0000000000000002-00",
+        "00-00000000000000000000000000000001-000000000000000x-00",
+        "00-00000000000000000000000000000001-0000000000000002-0g",
+        "00-00000000000000000000000000000001_0000000000000002-00",
+        "00-00000000000000000000000000000001-0000000000000002-0",
+        "01-00000000000000000000000000000001-0000000000000002-00extra",
+    };
+    for (String traceParent : invalid) {
+      TextMapAdapter textMap = new TextMapAdapter(new HashMap<>());
+      textMap.put(TRACE_PARENT, traceParent);
+      assertNull(traceParent, traceContextCodec.extract(textMap));
+    }
+  }
+
+  @Test
+  public void testExtractFutureVersion() {
+    TextMapAdapter textMap = new TextMapAdapter(new HashMap<>());
+    textMap.put(TRACE_PARENT, "cc-ffffffffffffffff0000000000000000-8000000000000002-09-what-the-future-holds");
+    JaegerSpanContext context = traceContextCodec.extract(textMap);
+    assertEquals(-1L, context.getTraceIdHigh());
+    assertEquals(0L, context.getTraceIdLow());
+    assertEquals(0x8000000000000002L, context.getSpanId());
+    assertTrue(context.isSampled());
+  }
+
+  @Test
+  public void testInjectUpdatedTraceState() {
+    TextMapAdapter textMap = new TextMapAdapter(new HashMap<>());
+    textMap.put(TRACE_PARENT, EXAMPLE_TRACE_PARENT);
+    textMap.put(TRACE_STATE, "rojo=00f067aa0ba902b7,jaeger=old");
+    JaegerSpanContext spanContext = traceContextCodec.extract(textMap);
+    assertEquals("old", spanContext.getTraceStateList().get("jaeger"));
+
+    spanContext = spanContext.withTraceState(spanContext.getTraceStateList().put("jaeger", "new"));
+    Map<String, String> injectCarrier = new HashMap<>();
+    traceContextCodec.inject(spanContext, new TextMapAdapter(injectCarrier));
+    assertEquals("jaeger=new,rojo=00f067aa0ba902b7", injectCarrier.get(TRACE_STATE));
+  }
+
+  @Test
+  public void testChildSpanForwardsTraceState() {
+    TextMapAdapter textMap = new TextMapAdapter(new HashMap<>());
+    textMap.put(TRACE_PARENT, EXAMPLE_TRACE_PARENT);
+    textMap.put(TRACE_STATE, "rojo=00f067aa0ba902b7");
+    JaegerSpanContext spanContext = traceContextCodec.extract(textMap);
+
+    JaegerTracer tracer = new JaegerTracer.Builder("service").withReporter(new InMemoryReporter()).build();
+    JaegerSpan child = tracer.buildSpan("span").asChildOf(spanContext).start();
+    child.setBaggageItem("key", "value");
+    assertSame(spanContext.getTraceStateList(), child.context().getTraceStateList());
+
+    Map<String, String> injectCarrier = new HashMap<>();
+    traceContextCodec.inject(child.context(), new TextMapAdapter(injectCarrier));
+    assertEquals("rojo=00f067aa0ba902b7", injectCarrier.get(TRACE_STATE));
+    child.finish();
+    tracer.close();
+  }
 }
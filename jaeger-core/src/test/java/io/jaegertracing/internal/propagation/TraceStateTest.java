@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.propagation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TraceStateTest {
+
+  @Test
+  public void testHeaderIsKeptAsReceived() {
+    String header = "rojo=00f067aa0ba902b7 , congo=t61rcWkgMzE,,";
+    TraceState traceState = TraceState.fromHeader(header);
+    assertSame(header, traceState.toString());
+    assertEquals(2, traceState.size());
+    assertSame(header, traceState.toString());
+  }
+
+  @Test
+  public void testEmptyHeader() {
+    assertNull(TraceState.fromHeader(null));
+    assertNull(TraceState.fromHeader(""));
+    assertTrue(TraceState.fromHeader(" , ").isEmpty());
+  }
+
+  @Test
+  public void testParse() {
+    TraceState traceState = TraceState.fromHeader("rojo=00f067aa0ba902b7,\tcongo=t61rcWkgMzE ,tenant@vendor=a b");
+    assertEquals(3, traceState.size());
+    assertEquals("00f067aa0ba902b7", traceState.get("rojo"));
+    assertEquals("t61rcWkgMzE", traceState.get("congo"));
+    assertEquals("a b", traceState.get("tenant@vendor"));
+    assertNull(traceState.get("jaeger"));
+  }
+
+  @Test
+  public void testInvalidAndRepeatedMembersAreDropped() {
+    TraceState traceState = TraceState.fromHeader(
+        "Upper=1,1digit=2,a@b@c=3,novalue=,noequals,a=x=y,ok=1,ok=2,@vendor=4,tenant@=5,tenant@9=6");
+    assertEquals(1, traceState.size());
+    assertEquals("1", traceState.get("ok"));
+  }
+
+  @Test
+  public void testParseKeepsAtMostMaxMembers() {
+    StringBuilder header = new StringBuilder();
+    for (int i = 0; i < TraceState.MAX_MEMBERS + 5; i++) {
+      header.append("k").append(i).append("=v,");
+    }
+    TraceState traceState = TraceState.fromHeader(header.toString());
+    assertEquals(TraceState.MAX_MEMBERS, traceState.size());
+    assertEquals("v", traceState.get("k0"));
+    assertNull(traceState.get("k" + TraceState.MAX_MEMBERS));
+  }
+
+  @Test
+  public void testPutMovesMemberFirst() {
+    TraceState traceState = TraceState.fromHeader("rojo=1,jaeger=2,congo=3");
+    assertEquals("jaeger=4,rojo=1,congo=3", traceState.put("jaeger", "4").toString());
+    assertEquals("new=5,rojo=1,jaeger=2,congo=3", traceState.put("new", "5").toString());
+    assertEquals("rojo=1,jaeger=2,congo=3", traceState.toString());
+  }
+
+  @Test
+  public void testPutSameFirstMemberReturnsSameList() {
+    TraceState traceState = TraceState.empty().put("jaeger", "1");
+    assertSame(traceState, traceState.put("jaeger", "1"));
+  }
+
+  @Test
+  public void testPutDropsOldestMember() {
+    TraceState traceState = TraceState.empty();
+    for (int i = 0; i < TraceState.MAX_MEMBERS; i++) {
+      traceState = traceState.put("k" + i, "v");
+    }
+    traceState = traceState.put("jaeger", "v");
+    assertEquals(TraceState.MAX_MEMBERS, traceState.size());
+    assertEquals("v", traceState.get("jaeger"));
+    assertNull(traceState.get("k0"));
+    assertEquals("v", traceState.get("k1"));
+  }
+
+  @Test
+  public void testRemove() {
+    TraceState traceState = TraceState.fromHeader("rojo=1,jaeger=2,congo=3");
+    assertEquals("rojo=1,congo=3", traceState.remove("jaeger").toString());
+    assertSame(traceState, traceState.remove("other"));
+    assertEquals("", traceState.remove("rojo").remove("jaeger").remove("congo").toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPutInvalidKey() {
+    TraceState.empty().put("Jaeger", "1");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPutInvalidValue() {
+    TraceState.empty().put("jaeger", "a,b");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPutValueEndingWithSpace() {
+    TraceState.empty().put("jaeger", "a ");
+  }
+}
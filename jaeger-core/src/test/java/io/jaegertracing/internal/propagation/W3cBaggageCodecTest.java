@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.propagation;
+
+import static io.jaegertracing.internal.propagation.TraceContextCodec.TRACE_PARENT;
+import static io.jaegertracing.internal.propagation.W3cBaggageCodec.BAGGAGE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.jaegertracing.internal.Constants;
+import io.jaegertracing.internal.JaegerSpan;
+import io.jaegertracing.internal.JaegerSpanContext;
+import io.jaegertracing.internal.JaegerTracer;
+import io.jaegertracing.internal.reporters.InMemoryReporter;
+import io.jaegertracing.spi.Codec;
+import io.opentracing.propagation.TextMap;
+import io.opentracing.propagation.TextMapAdapter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class W3cBaggageCodecTest {
+
+  private final W3cBaggageCodec codec = new W3cBaggageCodec.Builder().build();
+
+  @Test
+  public void testExtract() {
+    Map<String, String> headers = new HashMap<>();
+    headers.put("Baggage", "userId=alice, serverNode = DF%2028 ;prop=1,isProduction=false,emoji=%F0%9F%98%80");
+    headers.put(Constants.DEBUG_ID_HEADER_KEY, "debug");
+    JaegerSpanContext context = codec.extract(new TextMapAdapter(headers));
+    assertEquals(0, context.getTraceIdLow());
+    assertEquals(4, context.baggageCount());
+    assertEquals("alice", context.getBaggageItem("userId"));
+    assertEquals("DF 28", context.getBaggageItem("serverNode"));
+    assertEquals("false", context.getBaggageItem("isProduction"));
+    assertEquals(new String(Character.toChars(0x1F600)), context.getBaggageItem("emoji"));
+  }
+
+  @Test
+  public void testExtractWithoutHeader() {
+    assertNull(codec.extract(new TextMapAdapter(new HashMap<>())));
+  }
+
+  @Test
+  public void testExtractIgnoresBaggageWithoutDebugId() {
+    Map<String, String> headers = new HashMap<>();
+    headers.put(BAGGAGE, "userId=alice");
+    assertNull(codec.extract(new TextMapAdapter(headers)));
+  }
+
+  @Test
+  public void testInvalidMembersAreDropped() {
+    Map<String, String> baggage = W3cBaggageCodec.parse("noequals,=novalue,bad key=1,k=a\"b,ok=1,empty=,bad%=%zz");
+    assertEquals(3, baggage.size());
+    assertEquals("1", baggage.get("ok"));
+    assertEquals("", baggage.get("empty"));
+    assertEquals("%zz", baggage.get("bad%"));
+  }
+
+  @Test
+  public void testParseEnforcesMemberLimit() {
+    StringBuilder header = new StringBuilder();
+    for (int i = 0; i < W3cBaggageCodec.MAX_MEMBERS + 10; i++) {
+      header.append("k").append(i).append("=v,");
+    }
+    Map<String, String> baggage = W3cBaggageCodec.fromHeader(header.toString());
+    assertEquals(W3cBaggageCodec.MAX_MEMBERS, baggage.size());
+    assertFalse(header.toString().equals(W3cBaggageCodec.baggageHeader(baggage)));
+  }
+
+  @Test
+  public void testParseEnforcesLengthLimit() {
+    StringBuilder value = new StringBuilder();
+    for (int i = 0; i < 3000; i++) {
+      value.append('x');
+    }
+    String header = "a=" + value + ",b=" + value + ",c=" + value + ",d=1";
+    Map<String, String> baggage = W3cBaggageCodec.fromHeader(header);
+    assertEquals(2, baggage.size());
+    assertNull(baggage.get("c"));
+    assertNull(baggage.get("d"));
+    assertTrue(W3cBaggageCodec.baggageHeader(baggage).length() <= W3cBaggageCodec.MAX_HEADER_LENGTH);
+  }
+
+  @Test
+  public void testReceivedHeaderIsInjectedAsIs() {
+    String header = "userId=alice ; prop, other=1";
+    Map<String, String> headers = new HashMap<>();
+    headers.put(BAGGAGE, header);
+    headers.put(Constants.DEBUG_ID_HEADER_KEY, "debug");
+    JaegerSpanContext context = codec.extract(new TextMapAdapter(headers));
+
+    Map<String, String> injected = new HashMap<>();
+    codec.inject(context, new TextMapAdapter(injected));
+    assertSame(header, injected.get(BAGGAGE));
+  }
+
+  @Test
+  public void testModifiedBaggageIsEncoded() {
+    Map<String, String> headers = new HashMap<>();
+    headers.put(BAGGAGE, "userId=alice");
+    headers.put(Constants.DEBUG_ID_HEADER_KEY, "debug");
+    JaegerSpanContext context = codec.extract(new TextMapAdapter(headers)).withBaggageItem("note", "a,b;c%");
+
+    Map<String, String> injected = new HashMap<>();
+    codec.inject(context, new TextMapAdapter(injected));
+    Map<String, String> extracted = W3cBaggageCodec.parse(injected.get(BAGGAGE));
+    assertEquals("alice", extracted.get("userId"));
+    assertEquals("a,b;c%", extracted.get("note"));
+    assertTrue(injected.get(BAGGAGE).contains("note=a%2Cb%3Bc%25"));
+  }
+
+  @Test
+  public void testEncodeMultibyteValue() {
+    Map<String, String> baggage = new LinkedHashMap<>();
+    baggage.put("emoji", "café " + new String(Character.toChars(0x1F600))); // 2 and 4 bytes characters
+    baggage.put("invalid key", "dropped");
+    String header = W3cBaggageCodec.baggageHeader(baggage);
+    assertEquals("emoji=caf%C3%A9%20%F0%9F%98%80", header);
+    assertEquals(baggage.get("emoji"), W3cBaggageCodec.parse(header).get("emoji"));
+  }
+
+  @Test
+  public void testEncodeDropsMembersBeyondLimits() {
+    Map<String, String> baggage = new LinkedHashMap<>();
+    StringBuilder value = new StringBuilder();
+    for (int i = 0; i < 3000; i++) {
+      value.append('x');
+    }
+    baggage.put("a", value.toString());
+    baggage.put("b", value.toString());
+    baggage.put("c", value.toString());
+    baggage.put("d", "1");
+    Map<String, String> extracted = W3cBaggageCodec.parse(W3cBaggageCodec.baggageHeader(baggage));
+    assertEquals(3, extracted.size());
+    assertNull(extracted.get("c"));
+    assertEquals("1", extracted.get("d"));
+  }
+
+  @Test
+  public void testNoBaggageIsNotInjected() {
+    Map<String, String> injected = new HashMap<>();
+    codec.inject(new JaegerSpanContext(0, 1, 2, 0, (byte) 1), new TextMapAdapter(injected));
+    assertTrue(injected.isEmpty());
+  }
+
+  @Test
+  public void testTraceContextCodecPropagatesBaggage() {
+    TraceContextCodec traceContextCodec = new TraceContextCodec.Builder().build();
+    Map<String, String> headers = new HashMap<>();
+    headers.put(TRACE_PARENT, "00-00000000000000000000000000000001-0000000000000002-01");
+    headers.put(BAGGAGE, "userId=alice");
+    JaegerSpanContext context = traceContextCodec.extract(new TextMapAdapter(headers));
+    assertEquals("alice", context.getBaggageItem("userId"));
+
+    JaegerTracer tracer = new JaegerTracer.Builder("service").withReporter(new InMemoryReporter()).build();
+    JaegerSpan child = tracer.buildSpan("span").asChildOf(context).start();
+    Map<String, String> injected = new HashMap<>();
+    traceContextCodec.inject(child.context(), new TextMapAdapter(injected));
+    assertSame(headers.get(BAGGAGE), injected.get(BAGGAGE));
+    child.finish();
+    tracer.close();
+  }
+
+  @Test
+  public void testTraceContextCodecIgnoresBaggageWithoutTraceParent() {
+    TraceContextCodec traceContextCodec = new TraceContextCodec.Builder().build();
+    Map<String, String> headers = new HashMap<>();
+    headers.put(BAGGAGE, "userId=alice");
+    assertNull(traceContextCodec.extract(new TextMapAdapter(headers)));
+  }
+
+  @Test
+  public void testBaggageDoesNotShadowLaterCodec() {
+    CompositeCodec<TextMap> codec = new CompositeCodec<TextMap>(Arrays.<Codec<TextMap>>asList(
+        new TraceContextCodec.Builder().build(),
+        TextMapCodec.builder().build()));
+    Map<String, String> headers = new HashMap<>();
+    headers.put("uber-trace-id", "1:2:0:1");
+    headers.put(BAGGAGE, "userId=alice");
+    JaegerSpanContext context = codec.extract(new TextMapAdapter(headers));
+    assertEquals(1, context.getTraceIdLow());
+    assertEquals(2, context.getSpanId());
+  }
+
+  @Test
+  public void testStandaloneBaggageDoesNotShadowLaterCodec() {
+    CompositeCodec<TextMap> codec = new CompositeCodec<TextMap>(Arrays.<Codec<TextMap>>asList(
+        this.codec,
+        TextMapCodec.builder().build()));
+    Map<String, String> headers = new HashMap<>();
+    headers.put("uber-trace-id", "1:2:0:1");
+    headers.put(BAGGAGE, "userId=alice");
+    JaegerSpanContext context = codec.extract(new TextMapAdapter(headers));
+    assertEquals(1, context.getTraceIdLow());
+    assertEquals(2, context.getSpanId());
+  }
+}
@@ -37,12 +37,21 @@ import io.jaegertracing.internal.metrics.Metrics;
 import io.jaegertracing.internal.reporters.RemoteReporter.Builder;
 import io.jaegertracing.internal.samplers.ConstSampler;
 import io.jaegertracing.internal.senders.InMemorySender;
+import io.jaegertracing.spi.AsyncSender;
+import io.jaegertracing.spi.EncodingSender;
 import io.jaegertracing.spi.Reporter;
 import io.jaegertracing.spi.Sender;
+import io.jaegertracing.spi.SpillingSender;
+import io.opentracing.tag.Tags;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -118,10 +127,10 @@ public class RemoteReporterTest {
   }
 
   @Test
-  public void testRemoteReporterFlushTimerThread() {
+  public void testRemoteReporterFlushSchedulerThread() {
     int flushTimerThreadCount = 0;
     for (Thread thread : Thread.getAllStackTraces().keySet()) {
-      if (!thread.getName().equals("jaeger.RemoteReporter-FlushTimer")) {
+      if (!thread.getName().startsWith("jaeger.Scheduler-")) {
         continue;
       }
       ++flushTimerThreadCount;
@@ -489,10 +498,580 @@ public class RemoteReporterTest {
     assertEquals(reporterFailures, metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=err"));
   }
 
+  @Test
+  public void testAsyncSenderCallbackUpdatesMetrics() {
+    AtomicReference<AsyncSender.Callback> callback = new AtomicReference<>();
+    class InMemoryAsyncSender extends InMemorySender implements AsyncSender {
+      @Override
+      public void setCallback(Callback cb) {
+        callback.set(cb);
+      }
+    }
+
+    reporter = new Builder()
+        .withSender(new InMemoryAsyncSender())
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMetrics(metrics)
+        .build();
+
+    callback.get().onSuccess(3);
+    callback.get().onFailure(new SenderException("", 2));
+    callback.get().onFailure(new SenderException("", 1));
+    reporter.close();
+
+    assertEquals(3, metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=ok"));
+    assertEquals(3, metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=err"));
+  }
+
+  @Test
+  public void testMaxQueueBytesDropsSpans() {
+    JaegerSpan span = newSpan();
+    int spanBytes = span.estimateRetainedBytes();
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(sender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMaxQueueBytes(3 * spanBytes)
+        .withMetrics(metrics)
+        .build();
+    // change sender to blocking mode, the queue processor may hold one span that it is trying to append
+    sender.permitAppend(0);
+
+    for (int i = 0; i < 10; i++) {
+      remoteReporter.report(span);
+    }
+
+    long droppedCount = metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=dropped");
+    assertThat(droppedCount, anyOf(equalTo(7L), equalTo(6L)));
+    remoteReporter.flush();
+    long queueBytes = metricsFactory.getGauge("jaeger_tracer_reporter_queue_bytes", "");
+    assertThat(queueBytes, anyOf(equalTo(3L * spanBytes), equalTo(2L * spanBytes)));
+
+    sender.permitAppend(Integer.MAX_VALUE);
+    await().atMost(1, TimeUnit.SECONDS).until(() -> sender.getReceived().size() == 10 - droppedCount);
+    remoteReporter.flush();
+    assertEquals(0, metricsFactory.getGauge("jaeger_tracer_reporter_queue_bytes", ""));
+    remoteReporter.close();
+  }
+
+  @Test
+  public void testMaxQueueBytesWithRingBuffer() {
+    JaegerSpan span = newSpan();
+    int spanBytes = span.estimateRetainedBytes();
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(sender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMaxQueueBytes(3 * spanBytes)
+        .withMetrics(metrics)
+        .withRingBuffer()
+        .build();
+    sender.permitAppend(0);
+
+    for (int i = 0; i < 10; i++) {
+      remoteReporter.report(span);
+    }
+
+    long droppedCount = metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=dropped");
+    assertThat(droppedCount, anyOf(equalTo(7L), equalTo(6L)));
+
+    sender.permitAppend(Integer.MAX_VALUE);
+    await().atMost(1, TimeUnit.SECONDS).until(() -> sender.getReceived().size() == 10 - droppedCount);
+    remoteReporter.flush();
+    assertEquals(0, metricsFactory.getGauge("jaeger_tracer_reporter_queue_bytes", ""));
+    remoteReporter.close();
+  }
+
+  /*
+   * Spills 10 bytes per span when flushing fails, replays them when sending works again.
+   */
+  class SpillingInMemorySender extends InMemorySender implements SpillingSender {
+    private final AtomicBoolean failing = new AtomicBoolean(true);
+    private final AtomicInteger replayAttempts = new AtomicInteger();
+    private final AtomicInteger replayedSpans = new AtomicInteger();
+    private volatile Spill spill;
+
+    @Override
+    public void setSpill(Spill spill) {
+      this.spill = spill;
+    }
+
+    @Override
+    public int flush() throws SenderException {
+      int n = super.flush();
+      if (n > 0 && failing.get()) {
+        if (spill.spill(new byte[n * 10], 0, n * 10, n)) {
+          throw new SenderException("spilled", 0);
+        }
+        throw new SenderException("dropped", n);
+      }
+      return n;
+    }
+
+    @Override
+    public int sendSpilled(byte[] batch, int offset, int length, int spanCount) throws SenderException {
+      replayAttempts.incrementAndGet();
+      if (failing.get()) {
+        throw new SenderException("still failing", spanCount);
+      }
+      replayedSpans.addAndGet(spanCount);
+      return spanCount;
+    }
+  }
+
+  @Test
+  public void testSpilledBatchesAreReplayed() throws IOException {
+    SpillingInMemorySender spillingSender = new SpillingInMemorySender();
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(spillingSender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMetrics(metrics)
+        .withSpillFile(File.createTempFile("jaeger", ".spill"), 1024)
+        .build();
+
+    for (int i = 0; i < 3; i++) {
+      remoteReporter.report(newSpan());
+    }
+    remoteReporter.flush();
+    await().atMost(1, TimeUnit.SECONDS)
+        .until(() -> metricsFactory.getCounter("jaeger_tracer_reporter_spill_bytes", "result=spilled") == 30);
+
+    // still failing: the batch stays in the spill file
+    remoteReporter.flush();
+    // the first flush may already have scheduled a replay, if the batch was spilled before it returned
+    await().atMost(1, TimeUnit.SECONDS).until(() -> spillingSender.replayAttempts.get() >= 1);
+    assertEquals(0, metricsFactory.getCounter("jaeger_tracer_reporter_spill_bytes", "result=replayed"));
+
+    spillingSender.failing.set(false);
+    // a flush does not schedule a replay until the failed one is done
+    await().atMost(1, TimeUnit.SECONDS).until(() -> {
+      remoteReporter.flush();
+      return spillingSender.replayedSpans.get() == 3;
+    });
+    remoteReporter.close();
+
+    assertEquals(30, metricsFactory.getCounter("jaeger_tracer_reporter_spill_bytes", "result=replayed"));
+    assertEquals(0, metricsFactory.getCounter("jaeger_tracer_reporter_spill_bytes", "result=evicted"));
+    assertEquals(3, metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=ok"));
+    assertEquals(0, metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=err"));
+  }
+
+  @Test
+  public void testSpillEvictsOldestBatches() throws IOException {
+    SpillingInMemorySender spillingSender = new SpillingInMemorySender();
+    File file = File.createTempFile("jaeger", ".spill");
+    // room for two records of 20 bytes
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(spillingSender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMetrics(metrics)
+        .withSpillFile(file, 2 * (SpillFile.RECORD_HEADER_BYTES + 20))
+        .build();
+
+    for (int i = 0; i < 3; i++) {
+      remoteReporter.report(newSpan());
+      remoteReporter.report(newSpan());
+      remoteReporter.flush();
+      final int spilled = (i + 1) * 20;
+      await().atMost(1, TimeUnit.SECONDS)
+          .until(() -> metricsFactory.getCounter("jaeger_tracer_reporter_spill_bytes", "result=spilled") == spilled);
+    }
+    assertEquals(20, metricsFactory.getCounter("jaeger_tracer_reporter_spill_bytes", "result=evicted"));
+    assertEquals(2, metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=err"));
+
+    // spilled batches which are not replayed by then are lost on close
+    remoteReporter.close();
+    assertEquals(60, metricsFactory.getCounter("jaeger_tracer_reporter_spill_bytes", "result=evicted"));
+    assertEquals(6, metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=err"));
+    assertFalse(file.exists());
+  }
+
+  @Test
+  public void testSpillFileIsNotUsedWithoutSpillingSender() throws IOException {
+    File file = File.createTempFile("jaeger", ".spill");
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(sender)
+        .withMetrics(metrics)
+        .withSpillFile(file, 1024)
+        .build();
+    assertFalse(file.exists());
+    remoteReporter.close();
+  }
+
+  @Test
+  public void testRingBufferFlushesOnClose() {
+    // the reporter of setUp flushes the same sender from another thread
+    reporter.close();
+    reporter = new RemoteReporter.Builder()
+        .withSender(sender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMaxQueueSize(maxQueueSize)
+        .withMetrics(metrics)
+        .withRingBuffer()
+        .build();
+
+    int numberOfSpans = 100;
+    for (int i = 0; i < numberOfSpans; i++) {
+      reporter.report(newSpan());
+    }
+    reporter.close();
+
+    assertEquals(0, sender.getAppended().size());
+    assertEquals(numberOfSpans, sender.getFlushed().size());
+    assertEquals(numberOfSpans, metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=ok"));
+  }
+
+  @Test
+  public void testRingBufferReportIsFlushed() {
+    RemoteReporter remoteReporter = new RemoteReporter.Builder()
+        .withSender(sender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMaxQueueSize(maxQueueSize)
+        .withMetrics(metrics)
+        .withRingBuffer()
+        .build();
+
+    remoteReporter.report(newSpan());
+    remoteReporter.flush();
+    await()
+        .with()
+        .pollInterval(1, TimeUnit.MILLISECONDS)
+        .atMost(1, TimeUnit.SECONDS)
+        .until(() -> sender.getFlushed().size() == 1);
+    remoteReporter.close();
+  }
+
+  @Test
+  public void testRingBufferDropsWhenFull() {
+    int capacity = 4;
+    reporter = new RemoteReporter.Builder()
+        .withSender(sender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMaxQueueSize(capacity)
+        .withMetrics(metrics)
+        .withRingBuffer()
+        .build();
+    // change sender to blocking mode
+    sender.permitAppend(0);
+
+    int numberOfSpans = 10;
+    for (int i = 0; i < numberOfSpans; i++) {
+      reporter.report(newSpan());
+    }
+
+    // the queue processor may already hold one span that it is trying to append
+    long droppedCount = metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=dropped");
+    assertThat(droppedCount, anyOf(equalTo((long) numberOfSpans - capacity),
+        equalTo((long) numberOfSpans - capacity - 1)));
+  }
+
+  @Test
+  public void testRingBufferConcurrentReporters() throws Exception {
+    // the reporter of setUp flushes the same sender from another thread
+    reporter.close();
+    reporter = new RemoteReporter.Builder()
+        .withSender(sender)
+        .withFlushInterval(flushInterval)
+        .withMaxQueueSize(16)
+        .withMetrics(metrics)
+        .withRingBuffer()
+        .build();
+
+    int threadsCount = 8;
+    int spansPerThread = 1000;
+    final CyclicBarrier barrier = new CyclicBarrier(threadsCount);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < threadsCount; i++) {
+      Thread t = new Thread(() -> {
+        try {
+          barrier.await();
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+        for (int x = 0; x < spansPerThread; x++) {
+          reporter.report(newSpan());
+        }
+      });
+      threads.add(t);
+      t.start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    reporter.close();
+
+    long reported = metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=ok");
+    long dropped = metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=dropped");
+    assertEquals(threadsCount * spansPerThread, reported + dropped);
+    assertEquals(reported, sender.getFlushed().size());
+    assertEquals(reported, new HashSet<>(sender.getFlushed()).size());
+  }
+
+  @Test
+  public void testPriorityQueueSizeIsReservedForErrorSpans() {
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(sender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMaxQueueSize(10)
+        .withPriorityQueueSize(2)
+        .withMetrics(metrics)
+        .build();
+    blockQueueProcessor(remoteReporter);
+
+    for (int i = 0; i < 20; i++) {
+      remoteReporter.report(newSpan());
+    }
+    long normalDropped = metricsFactory.getCounter("jaeger_tracer_reporter_dropped_spans", "priority=normal");
+    assertEquals(10, normalDropped);
+
+    for (int i = 0; i < 3; i++) {
+      remoteReporter.report(newErrorSpan());
+    }
+    assertEquals(1, metricsFactory.getCounter("jaeger_tracer_reporter_dropped_spans", "priority=high"));
+    assertEquals(normalDropped + 1, metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=dropped"));
+
+    sender.permitAppend(Integer.MAX_VALUE);
+    await().atMost(1, TimeUnit.SECONDS).until(() -> sender.getReceived().size() == 23 - normalDropped);
+    remoteReporter.close();
+  }
+
+  @Test
+  public void testPriorityQueueBytesAreBounded() {
+    JaegerSpan span = newErrorSpan();
+    int spanBytes = span.estimateRetainedBytes();
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(sender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMaxQueueSize(100)
+        .withPriorityQueueSize(50)
+        .withMaxQueueBytes(2 * spanBytes)
+        .withMetrics(metrics)
+        .build();
+    blockQueueProcessor(remoteReporter);
+
+    // the byte budget of priority spans is raised by half, like the count
+    for (int i = 0; i < 10; i++) {
+      remoteReporter.report(span);
+    }
+    assertEquals(7, metricsFactory.getCounter("jaeger_tracer_reporter_dropped_spans", "priority=high"));
+
+    sender.permitAppend(Integer.MAX_VALUE);
+    remoteReporter.close();
+  }
+
+  @Test
+  public void testPriorityQueueSizeWithRingBuffer() {
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(sender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMaxQueueSize(4)
+        .withPriorityQueueSize(2)
+        .withMetrics(metrics)
+        .withRingBuffer()
+        .build();
+    blockQueueProcessor(remoteReporter);
+
+    for (int i = 0; i < 10; i++) {
+      remoteReporter.report(newSpan());
+    }
+    remoteReporter.report(newErrorSpan());
+    assertEquals(6, metricsFactory.getCounter("jaeger_tracer_reporter_dropped_spans", "priority=normal"));
+    assertEquals(0, metricsFactory.getCounter("jaeger_tracer_reporter_dropped_spans", "priority=high"));
+
+    // the ring buffer is full, error spans overflow to the command queue up to the priority queue size
+    for (int i = 0; i < 3; i++) {
+      remoteReporter.report(newErrorSpan());
+    }
+    assertEquals(2, metricsFactory.getCounter("jaeger_tracer_reporter_dropped_spans", "priority=high"));
+
+    sender.permitAppend(Integer.MAX_VALUE);
+    await().atMost(1, TimeUnit.SECONDS).until(() -> sender.getReceived().stream()
+        .anyMatch(span -> Boolean.TRUE.equals(span.getTag(Tags.ERROR.getKey()))));
+    remoteReporter.close();
+  }
+
+  @Test
+  public void testPriorityQueueSizeZeroDropsErrorSpans() {
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(sender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMaxQueueSize(2)
+        .withPriorityQueueSize(0)
+        .withMetrics(metrics)
+        .build();
+    blockQueueProcessor(remoteReporter);
+
+    for (int i = 0; i < 5; i++) {
+      remoteReporter.report(newErrorSpan());
+    }
+    assertEquals(3, metricsFactory.getCounter("jaeger_tracer_reporter_dropped_spans", "priority=high"));
+    sender.permitAppend(Integer.MAX_VALUE);
+    remoteReporter.close();
+  }
+
+  @Test
+  public void testAdaptiveFlushWaitsForTheFlushInterval() throws InterruptedException {
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(sender)
+        .withFlushInterval(200)
+        .withMetrics(metrics)
+        .withAdaptiveFlush()
+        .build();
+
+    remoteReporter.report(newSpan());
+    await().atMost(1, TimeUnit.SECONDS).until(() -> sender.getReceived().size() == 1);
+    Thread.sleep(20);
+    assertEquals(0, sender.getFlushed().size());
+    await().atMost(1, TimeUnit.SECONDS).until(() -> sender.getFlushed().size() == 1);
+    remoteReporter.close();
+  }
+
+  @Test
+  public void testAdaptiveFlushIsPutOffWhileSpansAreQueued() {
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(sender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMetrics(metrics)
+        .withAdaptiveFlush()
+        .build();
+    sender.permitAppend(0);
+
+    for (int i = 0; i < 3; i++) {
+      remoteReporter.report(newSpan());
+    }
+    remoteReporter.flush();
+    for (int i = 0; i < 2; i++) {
+      remoteReporter.report(newSpan());
+    }
+    sender.permitAppend(Integer.MAX_VALUE);
+
+    await().atMost(1, TimeUnit.SECONDS).until(() -> sender.getReceived().size() == 5);
+    assertEquals(0, sender.getFlushed().size());
+    remoteReporter.close();
+    assertEquals(5, sender.getFlushed().size());
+  }
+
+  class EncodingInMemorySender extends InMemorySender implements EncodingSender {
+    private final List<String> encoded = new ArrayList<>();
+    private final AtomicInteger encodedOnOtherThreads = new AtomicInteger();
+    private final AtomicInteger encodeCalls = new AtomicInteger();
+    private final Semaphore appendPermits = new Semaphore(Integer.MAX_VALUE);
+    private final Thread reportingThread = Thread.currentThread();
+
+    @Override
+    public byte[] encode(JaegerSpan span) throws SenderException {
+      encodeCalls.incrementAndGet();
+      if (Thread.currentThread() != reportingThread) {
+        encodedOnOtherThreads.incrementAndGet();
+      }
+      if ("unencodable".equals(span.getOperationName())) {
+        throw new SenderException("unencodable", 1);
+      }
+      return span.getOperationName().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int appendEncoded(byte[] encodedSpan) {
+      appendPermits.acquireUninterruptibly();
+      synchronized (this) {
+        encoded.add(new String(encodedSpan, StandardCharsets.UTF_8));
+      }
+      return 0;
+    }
+
+    synchronized List<String> getEncoded() {
+      return new ArrayList<>(encoded);
+    }
+  }
+
+  @Test
+  public void testPreEncoding() {
+    EncodingInMemorySender encodingSender = new EncodingInMemorySender();
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(encodingSender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMaxQueueBytes(1024)
+        .withMetrics(metrics)
+        .withPreEncoding()
+        .build();
+    tracer = new JaegerTracer.Builder("test-remote-reporter")
+        .withReporter(remoteReporter)
+        .withSampler(new ConstSampler(true))
+        .withMetrics(metrics)
+        .build();
+
+    tracer.buildSpan("first").start().finish();
+    tracer.buildSpan("unencodable").start().finish();
+    tracer.buildSpan("second").start().finish();
+    remoteReporter.close();
+
+    assertEquals(0, encodingSender.encodedOnOtherThreads.get());
+    assertEquals(2, encodingSender.getEncoded().size());
+    assertEquals("first", encodingSender.getEncoded().get(0));
+    assertEquals("second", encodingSender.getEncoded().get(1));
+    assertEquals(0, encodingSender.getAppended().size());
+    assertEquals(1, metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=err"));
+    assertEquals(0, metricsFactory.getGauge("jaeger_tracer_reporter_queue_bytes", ""));
+  }
+
+  @Test
+  public void testPreEncodingSkipsSpansWhenQueueIsFull() {
+    EncodingInMemorySender encodingSender = new EncodingInMemorySender();
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(encodingSender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMaxQueueSize(2)
+        .withMetrics(metrics)
+        .withPreEncoding()
+        .build();
+    tracer = new JaegerTracer.Builder("test-remote-reporter")
+        .withReporter(remoteReporter)
+        .withSampler(new ConstSampler(true))
+        .withMetrics(metrics)
+        .build();
+    // the queue processor may hold one span that it is trying to append
+    encodingSender.appendPermits.drainPermits();
+
+    for (int i = 0; i < 10; i++) {
+      tracer.buildSpan("span").start().finish();
+    }
+    assertThat(encodingSender.encodeCalls.get(), anyOf(equalTo(2), equalTo(3)));
+    assertThat(metricsFactory.getCounter("jaeger_tracer_reporter_spans", "result=dropped"),
+        anyOf(equalTo(8L), equalTo(7L)));
+
+    encodingSender.appendPermits.release(Integer.MAX_VALUE);
+    remoteReporter.close();
+  }
+
+  @Test
+  public void testPreEncodingIsIgnoredWithoutEncodingSender() {
+    RemoteReporter remoteReporter = new Builder()
+        .withSender(sender)
+        .withFlushInterval(Integer.MAX_VALUE)
+        .withMetrics(metrics)
+        .withPreEncoding()
+        .build();
+
+    remoteReporter.report(newSpan());
+    remoteReporter.close();
+    assertEquals(1, sender.getFlushed().size());
+  }
+
   private JaegerSpan newSpan() {
     return tracer.buildSpan("x").start();
   }
 
+  private JaegerSpan newErrorSpan() {
+    return tracer.buildSpan("x").withTag(Tags.ERROR.getKey(), true).start();
+  }
+
+  /**
+   * Leaves the queue processor blocked on appending a span, so the queue does not drain while a test fills it.
+   */
+  private void blockQueueProcessor(RemoteReporter remoteReporter) {
+    sender.permitAppend(0);
+    remoteReporter.report(newSpan());
+    await().atMost(1, TimeUnit.SECONDS).until(() -> remoteReporter.queueLength() == 0);
+  }
+
   private static Appender<ILoggingEvent> mockLogger(Consumer<ILoggingEvent> append) {
     ch.qos.logback.classic.Logger root =
             (ch.qos.logback.classic.Logger) LoggerFactory
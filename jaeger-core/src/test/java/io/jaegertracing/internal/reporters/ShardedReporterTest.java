@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.reporters;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.jaegertracing.internal.JaegerSpan;
+import io.jaegertracing.internal.JaegerTracer;
+import io.jaegertracing.internal.metrics.InMemoryMetricsFactory;
+import io.jaegertracing.internal.metrics.Metrics;
+import io.jaegertracing.internal.samplers.ConstSampler;
+import io.jaegertracing.internal.senders.InMemorySender;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ShardedReporterTest {
+  private static final int LANES = 4;
+
+  private InMemoryMetricsFactory metricsFactory;
+  private InMemorySender[] senders;
+  private RemoteReporter[] lanes;
+  private ShardedReporter reporter;
+  private JaegerTracer tracer;
+
+  @Before
+  public void setUp() {
+    metricsFactory = new InMemoryMetricsFactory();
+    Metrics metrics = new Metrics(metricsFactory);
+    senders = new InMemorySender[LANES];
+    lanes = new RemoteReporter[LANES];
+    for (int i = 0; i < LANES; i++) {
+      senders[i] = new InMemorySender();
+      lanes[i] = new RemoteReporter.Builder()
+          .withSender(senders[i])
+          .withFlushInterval(Integer.MAX_VALUE)
+          .withMetrics(metrics)
+          .build();
+    }
+    reporter = new ShardedReporter(lanes);
+    tracer = new JaegerTracer.Builder("test-sharded-reporter")
+        .withReporter(reporter)
+        .withSampler(new ConstSampler(true))
+        .withMetrics(metrics)
+        .build();
+  }
+
+  @Test
+  public void testSpansOfATraceStayInOneLane() {
+    int traces = 100;
+    for (int i = 0; i < traces; i++) {
+      JaegerSpan root = tracer.buildSpan("root").ignoreActiveSpan().start();
+      tracer.buildSpan("child").asChildOf(root).start().finish();
+      root.finish();
+    }
+    reporter.close();
+
+    int total = 0;
+    for (int i = 0; i < LANES; i++) {
+      for (JaegerSpan span : senders[i].getReceived()) {
+        assertEquals(i, ShardedReporter.laneIndex(span.context().getTraceIdLow(), LANES));
+      }
+      // random trace ids are spread over all lanes
+      assertTrue(senders[i].getReceived().size() > 0);
+      total += senders[i].getReceived().size();
+    }
+    assertEquals(2 * traces, total);
+  }
+
+  @Test
+  public void testLaneIndex() {
+    for (long traceId : new long[] {0, 1, -1, Long.MIN_VALUE, Long.MAX_VALUE, 0xffffffffL}) {
+      int index = ShardedReporter.laneIndex(traceId, LANES);
+      assertTrue(index >= 0 && index < LANES);
+    }
+  }
+
+  @Test
+  public void testQueueGaugesAreTotals() {
+    for (InMemorySender sender : senders) {
+      // change sender to blocking mode
+      sender.permitAppend(0);
+    }
+    int spans = 40;
+    for (int i = 0; i < spans; i++) {
+      tracer.buildSpan("root").ignoreActiveSpan().start().finish();
+    }
+
+    // each queue processor may hold one span that it is trying to append
+    lanes[0].flush();
+    long queueLength = metricsFactory.getGauge("jaeger_tracer_reporter_queue_length", "");
+    assertTrue(queueLength >= spans - LANES && queueLength <= spans);
+
+    for (InMemorySender sender : senders) {
+      sender.permitAppend(Integer.MAX_VALUE);
+    }
+    await().atMost(1, TimeUnit.SECONDS).until(() -> {
+      lanes[1].flush();
+      return metricsFactory.getGauge("jaeger_tracer_reporter_queue_length", "") == 0;
+    });
+    reporter.close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoLanes() {
+    new ShardedReporter();
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.reporters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.jaegertracing.internal.JaegerSpan;
+import io.jaegertracing.internal.JaegerTracer;
+import io.jaegertracing.internal.samplers.ConstSampler;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpanRingBufferTest {
+  private JaegerTracer tracer;
+
+  @Before
+  public void setUp() {
+    tracer = new JaegerTracer.Builder("test-ring-buffer")
+        .withReporter(new NoopReporter())
+        .withSampler(new ConstSampler(true))
+        .build();
+  }
+
+  @Test
+  public void testCapacityIsRoundedUpToPowerOfTwo() {
+    assertEquals(1, new SpanRingBuffer(1).capacity());
+    assertEquals(4, new SpanRingBuffer(3).capacity());
+    assertEquals(128, new SpanRingBuffer(100).capacity());
+    assertEquals(128, new SpanRingBuffer(128).capacity());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroCapacity() {
+    new SpanRingBuffer(0);
+  }
+
+  @Test
+  public void testOfferAndPollInOrder() {
+    SpanRingBuffer buffer = new SpanRingBuffer(4);
+    assertTrue(buffer.isEmpty());
+    assertNull(buffer.poll());
+
+    JaegerSpan first = newSpan();
+    JaegerSpan second = newSpan();
+    assertTrue(buffer.offer(first));
+    assertTrue(buffer.offer(second));
+    assertFalse(buffer.isEmpty());
+    assertEquals(2, buffer.size());
+
+    assertSame(first, buffer.poll());
+    assertSame(second, buffer.poll());
+    assertNull(buffer.poll());
+    assertTrue(buffer.isEmpty());
+    assertEquals(0, buffer.size());
+  }
+
+  @Test
+  public void testOfferFailsWhenFull() {
+    SpanRingBuffer buffer = new SpanRingBuffer(2);
+    assertTrue(buffer.offer(newSpan()));
+    assertTrue(buffer.offer(newSpan()));
+    assertFalse(buffer.offer(newSpan()));
+    assertEquals(2, buffer.size());
+
+    buffer.poll();
+    assertTrue(buffer.offer(newSpan()));
+  }
+
+  @Test
+  public void testWrapAround() {
+    SpanRingBuffer buffer = new SpanRingBuffer(4);
+    for (int i = 0; i < 100; i++) {
+      JaegerSpan span = newSpan();
+      assertTrue(buffer.offer(span));
+      assertSame(span, buffer.poll());
+    }
+    assertTrue(buffer.isEmpty());
+  }
+
+  private JaegerSpan newSpan() {
+    return tracer.buildSpan("x").start();
+  }
+}
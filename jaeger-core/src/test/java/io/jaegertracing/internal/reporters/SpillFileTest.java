@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.reporters;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpillFileTest {
+  private File file;
+  private SpillFile spillFile;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("jaeger", ".spill");
+    spillFile = new SpillFile(file, 64);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    spillFile.close();
+  }
+
+  @Test
+  public void testRecordsAreReadInOrder() {
+    assertTrue(spillFile.isEmpty());
+    spillFile.append(bytes(1, 10), 0, 10, 1);
+    spillFile.append(bytes(2, 5), 0, 5, 3);
+    assertFalse(spillFile.isEmpty());
+    assertEquals(2 * SpillFile.RECORD_HEADER_BYTES + 15, spillFile.size());
+
+    assertEquals(10, spillFile.oldestLength());
+    assertEquals(1, spillFile.oldestSpanCount());
+    assertArrayEquals(bytes(1, 10), Arrays.copyOf(spillFile.oldest(), 10));
+    spillFile.removeOldest();
+
+    assertEquals(5, spillFile.oldestLength());
+    assertEquals(3, spillFile.oldestSpanCount());
+    assertArrayEquals(bytes(2, 5), Arrays.copyOf(spillFile.oldest(), 5));
+    spillFile.removeOldest();
+    assertTrue(spillFile.isEmpty());
+    assertEquals(0, spillFile.size());
+  }
+
+  @Test
+  public void testRecordsWrapAround() {
+    // two records of 20 bytes fit, so the oldest one is the one appended two iterations before
+    for (int i = 0; i < 20; i++) {
+      while (!spillFile.hasRoomFor(20)) {
+        assertEquals(i - 2, spillFile.oldestSpanCount());
+        assertArrayEquals(bytes(i - 2, 20), Arrays.copyOf(spillFile.oldest(), 20));
+        spillFile.removeOldest();
+      }
+      // offset and length select a part of the array
+      byte[] padded = new byte[24];
+      System.arraycopy(bytes(i, 20), 0, padded, 2, 20);
+      spillFile.append(padded, 2, 20, i);
+    }
+  }
+
+  @Test
+  public void testRoom() {
+    assertTrue(spillFile.fits(64 - SpillFile.RECORD_HEADER_BYTES));
+    assertFalse(spillFile.fits(64 - SpillFile.RECORD_HEADER_BYTES + 1));
+
+    spillFile.append(bytes(1, 40), 0, 40, 1);
+    assertTrue(spillFile.hasRoomFor(64 - 2 * SpillFile.RECORD_HEADER_BYTES - 40));
+    assertFalse(spillFile.hasRoomFor(64 - 2 * SpillFile.RECORD_HEADER_BYTES - 40 + 1));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAppendWithoutRoom() {
+    spillFile.append(bytes(1, 60), 0, 60, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCapacityTooSmall() throws IOException {
+    new SpillFile(file, SpillFile.RECORD_HEADER_BYTES);
+  }
+
+  @Test
+  public void testCloseDeletesFile() throws IOException {
+    assertTrue(file.exists());
+    spillFile.close();
+    assertFalse(file.exists());
+  }
+
+  private static byte[] bytes(int seed, int length) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) (seed * 31 + i);
+    }
+    return bytes;
+  }
+}
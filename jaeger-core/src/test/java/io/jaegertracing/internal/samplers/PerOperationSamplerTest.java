@@ -29,6 +29,9 @@ import io.jaegertracing.internal.samplers.http.ProbabilisticSamplingStrategy;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -80,7 +83,29 @@ public class PerOperationSamplerTest {
     undertest.sample(newOperation, TRACE_ID);
     assertEquals(new GuaranteedThroughputSampler(DEFAULT_SAMPLING_PROBABILITY,
                                                  DEFAULT_LOWER_BOUND_TRACES_PER_SECOND),
-                 operationToSamplers.get(newOperation));
+                 undertest.getOperationNameToSampler().get(newOperation));
+  }
+
+  @Test
+  public void testConcurrentUnseenOperationsAreBounded() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < MAX_OPERATIONS * 2; i++) {
+            undertest.sample("operation-" + i, TRACE_ID);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(MAX_OPERATIONS, undertest.getOperationNameToSampler().size());
   }
 
   @Test
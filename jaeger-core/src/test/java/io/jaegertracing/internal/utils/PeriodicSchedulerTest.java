@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.internal.utils;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PeriodicSchedulerTest {
+  private ScheduledExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testTaskRunsPeriodicallyUntilCancelled() throws InterruptedException {
+    PeriodicScheduler scheduler = new PeriodicScheduler(executor, 0.5);
+    final AtomicInteger runs = new AtomicInteger();
+    PeriodicScheduler.Task task = scheduler.schedule(new Runnable() {
+      @Override
+      public void run() {
+        runs.incrementAndGet();
+      }
+    }, 0, 1);
+
+    await().atMost(1, TimeUnit.SECONDS).until(() -> runs.get() >= 5);
+    task.cancel();
+    assertTrue(task.isCancelled());
+    // a run in progress when cancelled may still complete
+    Thread.sleep(20);
+    int cancelledRuns = runs.get();
+    Thread.sleep(50);
+    assertEquals(cancelledRuns, runs.get());
+  }
+
+  @Test
+  public void testFailingTaskKeepsRunning() {
+    PeriodicScheduler scheduler = new PeriodicScheduler(executor, 0);
+    final AtomicInteger runs = new AtomicInteger();
+    PeriodicScheduler.Task task = scheduler.schedule(new Runnable() {
+      @Override
+      public void run() {
+        if (runs.incrementAndGet() == 1) {
+          throw new IllegalStateException("boo");
+        }
+      }
+    }, 0, 1);
+
+    await().atMost(1, TimeUnit.SECONDS).until(() -> runs.get() >= 3);
+    task.cancel();
+  }
+
+  @Test
+  public void testTaskThrowingErrorKeepsRunning() {
+    PeriodicScheduler scheduler = new PeriodicScheduler(executor, 0);
+    final AtomicInteger runs = new AtomicInteger();
+    PeriodicScheduler.Task task = scheduler.schedule(new Runnable() {
+      @Override
+      public void run() {
+        if (runs.incrementAndGet() == 1) {
+          throw new AssertionError("boo");
+        }
+      }
+    }, 0, 1);
+
+    await().atMost(1, TimeUnit.SECONDS).until(() -> runs.get() >= 3);
+    task.cancel();
+  }
+
+  @Test
+  public void testRejectedTaskIsCancelled() {
+    executor.shutdown();
+    PeriodicScheduler scheduler = new PeriodicScheduler(executor, 0);
+    PeriodicScheduler.Task task = scheduler.schedule(new Runnable() {
+      @Override
+      public void run() {
+      }
+    }, 0, 1);
+    assertTrue(task.isCancelled());
+  }
+
+  @Test
+  public void testNextDelayWithoutJitter() {
+    PeriodicScheduler scheduler = new PeriodicScheduler(executor, 0);
+    assertEquals(1000, scheduler.nextDelay(1000));
+  }
+
+  @Test
+  public void testNextDelayIsSpreadByJitter() {
+    PeriodicScheduler scheduler = new PeriodicScheduler(executor, 0.1);
+    Set<Long> delays = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      long delay = scheduler.nextDelay(1000);
+      assertTrue(delay >= 900 && delay <= 1100);
+      delays.add(delay);
+    }
+    assertTrue(delays.size() > 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testJitterMustBeBelowOne() {
+    new PeriodicScheduler(executor, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPeriodMustBePositive() {
+    new PeriodicScheduler(executor, 0).schedule(new Runnable() {
+      @Override
+      public void run() {
+      }
+    }, 0, 0);
+  }
+
+  @Test
+  public void testDefaultIsShared() {
+    assertSame(PeriodicScheduler.getDefault(), PeriodicScheduler.getDefault());
+    assertFalse(PeriodicScheduler.getDefault().toString().isEmpty());
+  }
+
+  @Test
+  public void testPollingDoesNotShareDefault() {
+    assertSame(PeriodicScheduler.getDefaultForPolling(), PeriodicScheduler.getDefaultForPolling());
+    assertNotSame(PeriodicScheduler.getDefault(), PeriodicScheduler.getDefaultForPolling());
+  }
+}
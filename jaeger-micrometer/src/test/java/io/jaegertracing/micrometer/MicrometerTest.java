@@ -65,6 +65,9 @@ public class MicrometerTest {
     expectedMetricCounts.put("jaeger_tracer_traces", 4L);
     expectedMetricCounts.put("jaeger_tracer_span_context_decoding_errors", 1L);
     expectedMetricCounts.put("jaeger_tracer_reporter_queue_length", 1L);
+    expectedMetricCounts.put("jaeger_tracer_reporter_queue_bytes", 1L);
+    expectedMetricCounts.put("jaeger_tracer_reporter_dropped_spans", 2L);
+    expectedMetricCounts.put("jaeger_tracer_reporter_spill_bytes", 3L);
   }
 
 
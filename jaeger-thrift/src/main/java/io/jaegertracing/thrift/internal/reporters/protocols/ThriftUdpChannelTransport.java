@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.thrift.internal.reporters.protocols;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import lombok.ToString;
+import org.apache.thrift.TConfiguration;
+import org.apache.thrift.transport.TEndpointTransport;
+import org.apache.thrift.transport.TTransportException;
+
+/**
+ * A write-only thrift transport sending each flushed message as one UDP packet through a connected
+ * {@link DatagramChannel}.
+ *
+ * <p>Unlike {@link ThriftUdpTransport} it allocates nothing per packet: the protocol writes into a
+ * single direct buffer of {@value ThriftUdpTransport#MAX_PACKET_SIZE} bytes, which the channel sends
+ * without copying it into an intermediate array or temporary direct buffer. Not thread-safe.
+ */
+@ToString
+public class ThriftUdpChannelTransport extends TEndpointTransport implements Closeable {
+
+  @ToString.Exclude private final DatagramChannel channel;
+  @ToString.Exclude private final ByteBuffer writeBuffer;
+
+  /**
+   * Opens a channel connected to the given host and port.
+   */
+  public static ThriftUdpChannelTransport newThriftUdpClient(String host, int port) throws TTransportException {
+    try {
+      InetSocketAddress address = new InetSocketAddress(host, port);
+      if (address.isUnresolved()) {
+        throw new SocketException("Unresolved address " + host);
+      }
+      return new ThriftUdpChannelTransport(address);
+    } catch (IOException e) {
+      throw new RuntimeException("TUDPTransport cannot connect: ", e);
+    }
+  }
+
+  private ThriftUdpChannelTransport(InetSocketAddress address) throws IOException, TTransportException {
+    super(new TConfiguration());
+    this.writeBuffer = ByteBuffer.allocateDirect(ThriftUdpTransport.MAX_PACKET_SIZE);
+    this.channel = DatagramChannel.open();
+    try {
+      this.channel.connect(address);
+    } catch (IOException | RuntimeException e) {
+      this.channel.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean isOpen() {
+    return channel.isOpen();
+  }
+
+  // noop as opened in the factory method
+  @Override
+  public void open() throws TTransportException {}
+
+  @Override
+  public void close() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      // nothing else to release
+    }
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int len) throws TTransportException {
+    throw new TTransportException(TTransportException.UNKNOWN, "Reading is not supported");
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int len) throws TTransportException {
+    if (!isOpen()) {
+      throw new TTransportException(TTransportException.NOT_OPEN);
+    }
+    if (len > writeBuffer.remaining()) {
+      int size = writeBuffer.position() + len;
+      // drop the partial message, otherwise it would be sent as the prefix of the next one
+      writeBuffer.clear();
+      throw new TTransportException(TTransportException.UNKNOWN,
+          "Message size too large: " + size + " > " + ThriftUdpTransport.MAX_PACKET_SIZE);
+    }
+    writeBuffer.put(bytes, offset, len);
+  }
+
+  @Override
+  public void flush() throws TTransportException {
+    if (writeBuffer.position() == 0) {
+      return;
+    }
+    writeBuffer.flip();
+    try {
+      channel.write(writeBuffer);
+    } catch (IOException e) {
+      throw new TTransportException(TTransportException.UNKNOWN, "Cannot flush closed transport", e);
+    } finally {
+      writeBuffer.clear();
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.thrift.internal.senders;
+
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses data into the gzip format, reusing the same {@link Deflater} and output buffer for every call.
+ * Unlike {@link java.util.zip.GZIPOutputStream} nothing is allocated per call once the buffer has grown to fit
+ * the compressed data. Not thread-safe, except that {@link #close} may be called while another thread compresses.
+ */
+final class GzipCompressor {
+  // magic number, deflate method, no flags, no modification time, no extra flags, unknown OS
+  private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+  private static final int TRAILER_LENGTH = 8;
+
+  private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+  private final CRC32 crc = new CRC32();
+  private byte[] buffer;
+  private int length;
+  private boolean closed;
+
+  GzipCompressor(int initialCapacity) {
+    buffer = new byte[Math.max(initialCapacity, HEADER.length + TRAILER_LENGTH)];
+  }
+
+  /**
+   * Compresses the input, replacing the previous output.
+   *
+   * @throws IllegalStateException if the compressor is closed
+   */
+  synchronized void compress(byte[] input, int offset, int inputLength) {
+    if (closed) {
+      throw new IllegalStateException("The compressor is closed");
+    }
+    crc.reset();
+    crc.update(input, offset, inputLength);
+    deflater.reset();
+    deflater.setInput(input, offset, inputLength);
+    deflater.finish();
+
+    System.arraycopy(HEADER, 0, buffer, 0, HEADER.length);
+    length = HEADER.length;
+    while (!deflater.finished()) {
+      if (length == buffer.length) {
+        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+      }
+      length += deflater.deflate(buffer, length, buffer.length - length);
+    }
+
+    if (length + TRAILER_LENGTH > buffer.length) {
+      buffer = Arrays.copyOf(buffer, length + TRAILER_LENGTH);
+    }
+    writeIntLittleEndian((int) crc.getValue());
+    writeIntLittleEndian(inputLength);
+  }
+
+  private void writeIntLittleEndian(int value) {
+    buffer[length++] = (byte) value;
+    buffer[length++] = (byte) (value >>> 8);
+    buffer[length++] = (byte) (value >>> 16);
+    buffer[length++] = (byte) (value >>> 24);
+  }
+
+  /**
+   * @return the buffer holding the output of the last {@link #compress} call, from 0 to {@link #getLength()}
+   */
+  byte[] getBuffer() {
+    return buffer;
+  }
+
+  int getLength() {
+    return length;
+  }
+
+  /**
+   * Releases the native memory of the deflater, {@link #compress} fails afterwards.
+   */
+  synchronized void close() {
+    closed = true;
+    deflater.end();
+  }
+}
@@ -15,12 +15,20 @@
 package io.jaegertracing.thrift.internal.senders;
 
 import io.jaegertracing.internal.exceptions.SenderException;
+import io.jaegertracing.spi.AsyncSender;
 import io.jaegertracing.thriftjava.Batch;
 import io.jaegertracing.thriftjava.Process;
 import io.jaegertracing.thriftjava.Span;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
 import okhttp3.Credentials;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
@@ -29,16 +37,40 @@ import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import org.apache.thrift.TConfiguration;
+import org.apache.thrift.transport.AutoExpandingBufferWriteTransport;
 import org.apache.thrift.transport.TTransportException;
 
+@Slf4j
 @ToString
-public class HttpSender extends ThriftSender {
+public class HttpSender extends ThriftSender implements AsyncSender {
   private static final String HTTP_COLLECTOR_JAEGER_THRIFT_FORMAT_PARAM = "format=jaeger.thrift";
   private static final int ONE_MB_IN_BYTES = 1048576;
   private static final MediaType MEDIA_TYPE_THRIFT = MediaType.parse("application/x-thrift");
+  private static final String GZIP_ENCODING = "gzip";
+  // how long close() waits for asynchronous requests still in flight
+  private static final long ASYNC_CLOSE_TIMEOUT_MILLIS = 5000;
+
+  private static final AsyncSender.Callback LOGGING_CALLBACK = new AsyncSender.Callback() {
+    @Override
+    public void onSuccess(int spanCount) {
+    }
+
+    @Override
+    public void onFailure(SenderException e) {
+      log.warn("Could not send spans asynchronously", e);
+    }
+  };
+
+  private final int maxInFlightBatches;
+  @Getter(AccessLevel.PACKAGE) private final boolean gzipCompression;
 
   @ToString.Exclude private final OkHttpClient httpClient;
   @ToString.Exclude private final Request.Builder requestBuilder;
+  @ToString.Exclude private final Semaphore inFlightBatches;
+  @ToString.Exclude private volatile AsyncSender.Callback callback = LOGGING_CALLBACK;
+  @ToString.Exclude private final GzipCompressor compressor;
+  @ToString.Exclude private AutoExpandingBufferWriteTransport batchBuffer;
 
   protected HttpSender(Builder builder) throws TTransportException {
     super(ProtocolType.Binary, builder.maxPacketSize);
@@ -49,6 +81,32 @@ public class HttpSender extends ThriftSender {
     }
     this.httpClient = builder.clientBuilder.build();
     this.requestBuilder = new Request.Builder().url(collectorUrl);
+    this.gzipCompression = builder.gzipCompression;
+    if (gzipCompression) {
+      this.compressor = new GzipCompressor(ONE_MB_IN_BYTES / 8);
+      this.requestBuilder.header("Content-Encoding", GZIP_ENCODING);
+    } else {
+      this.compressor = null;
+    }
+    this.maxInFlightBatches = builder.maxInFlightBatches;
+    this.inFlightBatches = maxInFlightBatches > 0 ? new Semaphore(maxInFlightBatches) : null;
+  }
+
+  /**
+   * The batches sent asynchronously fail after {@code flush} returned, on the threads of the HTTP client, they
+   * cannot be spilled.
+   */
+  @Override
+  public void setSpill(Spill spill) {
+    if (inFlightBatches != null) {
+      throw new UnsupportedOperationException("Batches sent asynchronously are not spilled");
+    }
+    super.setSpill(spill);
+  }
+
+  @Override
+  public void setCallback(AsyncSender.Callback callback) {
+    this.callback = callback;
   }
 
   @Override
@@ -61,15 +119,100 @@ public class HttpSender extends ThriftSender {
       throw new SenderException(String.format("Failed to serialize %d spans", spans.size()), e, spans.size());
     }
 
-    RequestBody body = RequestBody.create(MEDIA_TYPE_THRIFT, bytes);
+    post(createBody(bytes, bytes.length, false, spans.size()), spans.size());
+  }
+
+  @Override
+  protected int send(Process process, SerializedSpans spans) throws SenderException {
+    try {
+      if (batchBuffer == null) {
+        batchBuffer = new AutoExpandingBufferWriteTransport(new TConfiguration(), spans.getSize() + 1024, 0);
+      }
+      batchBuffer.reset();
+      writeBatch(protocolFactory.getProtocol(batchBuffer), process, spans);
+    } catch (Exception e) {
+      throw new SenderException(String.format("Failed to serialize %d spans", spans.getSpanCount()), e,
+          spans.getSpanCount());
+    }
+
+    boolean async = inFlightBatches != null;
+    // synchronous requests are executed before the buffers are reused, asynchronous ones need a copy
+    RequestBody body = createBody(batchBuffer.getBuf().array(), batchBuffer.getLength(), async,
+        spans.getSpanCount());
+    if (async) {
+      postAsync(body, spans.getSpanCount());
+      return 0;
+    }
+    post(body, spans.getSpanCount());
+    return spans.getSpanCount();
+  }
+
+  private RequestBody createBody(byte[] bytes, int length, boolean copy, int spanCount) throws SenderException {
+    if (compressor != null) {
+      try {
+        compressor.compress(bytes, 0, length);
+      } catch (IllegalStateException e) {
+        throw new SenderException(String.format("Could not send %d spans, the sender is closed", spanCount), e,
+            spanCount);
+      }
+      bytes = compressor.getBuffer();
+      length = compressor.getLength();
+    }
+    if (copy) {
+      bytes = Arrays.copyOf(bytes, length);
+    }
+    return RequestBody.create(MEDIA_TYPE_THRIFT, bytes, 0, length);
+  }
+
+  private void post(RequestBody body, int spanCount) throws SenderException {
     Request request = requestBuilder.post(body).build();
     Response response;
     try {
       response = httpClient.newCall(request).execute();
     } catch (IOException e) {
-      throw new SenderException(String.format("Could not send %d spans", spans.size()), e, spans.size());
+      throw new SenderException(String.format("Could not send %d spans", spanCount), e, spanCount);
+    }
+    checkResponse(response, spanCount);
+  }
+
+  /**
+   * Enqueues the request once fewer than {@link #maxInFlightBatches} are in flight, blocking the reporter
+   * otherwise. The outcome is reported to the {@link AsyncSender.Callback}.
+   */
+  private void postAsync(RequestBody body, final int spanCount) throws SenderException {
+    try {
+      inFlightBatches.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SenderException(String.format("Interrupted while sending %d spans", spanCount), e, spanCount);
     }
 
+    Request request = requestBuilder.post(body).build();
+    httpClient.newCall(request).enqueue(new okhttp3.Callback() {
+      @Override
+      public void onFailure(Call call, IOException e) {
+        try {
+          callback.onFailure(new SenderException(String.format("Could not send %d spans", spanCount), e, spanCount));
+        } finally {
+          inFlightBatches.release();
+        }
+      }
+
+      @Override
+      public void onResponse(Call call, Response response) {
+        try {
+          checkResponse(response, spanCount);
+          callback.onSuccess(spanCount);
+        } catch (SenderException e) {
+          callback.onFailure(e);
+        } finally {
+          inFlightBatches.release();
+        }
+      }
+    });
+  }
+
+  private static void checkResponse(Response response, int spanCount) throws SenderException {
     if (response.isSuccessful()) {
       response.close();
       return;
@@ -83,13 +226,42 @@ public class HttpSender extends ThriftSender {
     }
 
     String exceptionMessage = String.format("Could not send %d spans, response %d: %s",
-        spans.size(), response.code(), responseBody);
-    throw new SenderException(exceptionMessage, null, spans.size());
+        spanCount, response.code(), responseBody);
+    throw new SenderException(exceptionMessage, null, spanCount);
+  }
+
+  @Override
+  public int close() throws SenderException {
+    try {
+      return super.close();
+    } finally {
+      awaitInFlightBatches();
+      if (compressor != null) {
+        compressor.close();
+      }
+    }
+  }
+
+  private void awaitInFlightBatches() {
+    if (inFlightBatches == null) {
+      return;
+    }
+    try {
+      if (inFlightBatches.tryAcquire(maxInFlightBatches, ASYNC_CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        inFlightBatches.release(maxInFlightBatches);
+      } else {
+        log.warn("Closing with spans still in flight after {} ms", ASYNC_CLOSE_TIMEOUT_MILLIS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
   }
 
   public static class Builder {
     private final String endpoint;
     private int maxPacketSize = ONE_MB_IN_BYTES;
+    private int maxInFlightBatches;
+    private boolean gzipCompression;
     private Interceptor authInterceptor;
     private OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder();
 
@@ -110,6 +282,36 @@ public class HttpSender extends ThriftSender {
       return this;
     }
 
+    /**
+     * Sends batches asynchronously, so that the reporter can serialize the next batch while the previous ones
+     * are in flight. Once {@code maxInFlightBatches} requests are in flight, sending blocks until one completes.
+     * The outcome of the requests is reported to the {@link AsyncSender.Callback}, which
+     * {@link io.jaegertracing.internal.reporters.RemoteReporter} uses to update its metrics.
+     *
+     * <p>Note that OkHttp's dispatcher also limits the number of concurrent requests per host (5 by default).
+     *
+     * @param maxInFlightBatches the maximum number of batches in flight, must be positive
+     * @return this instance of the builder
+     */
+    public Builder withAsyncSend(int maxInFlightBatches) {
+      if (maxInFlightBatches <= 0) {
+        throw new IllegalArgumentException("maxInFlightBatches must be positive: " + maxInFlightBatches);
+      }
+      this.maxInFlightBatches = maxInFlightBatches;
+      return this;
+    }
+
+    /**
+     * Compresses the batches with gzip and sends them with a {@code Content-Encoding: gzip} header. The collector
+     * has to accept gzip encoded requests.
+     *
+     * @return this instance of the builder
+     */
+    public Builder withGzipCompression() {
+      this.gzipCompression = true;
+      return this;
+    }
+
     public Builder withAuth(String username, String password) {
       this.authInterceptor = getAuthInterceptor(Credentials.basic(username, password));
       return this;
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.thrift.internal.senders;
+
+import io.jaegertracing.spi.SpillingSender;
+import io.jaegertracing.thriftjava.Span;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.ToString;
+import org.apache.thrift.TConfiguration;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolFactory;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TTransport;
+
+/**
+ * A reusable buffer of spans that were already serialized with the sender's protocol, back to back, exactly as
+ * they appear in the {@code spans} list of a {@link io.jaegertracing.thriftjava.Batch}. This lets the sender
+ * encode each span only once and write the batch envelope around the bytes when sending.
+ */
+@ToString
+public class SerializedSpans {
+  private static final int INITIAL_CAPACITY = 4096;
+
+  @ToString.Exclude private byte[] bytes = new byte[0];
+  private int size;
+  private int spanCount;
+
+  /**
+   * @return the number of spans in the buffer
+   */
+  public int getSpanCount() {
+    return spanCount;
+  }
+
+  /**
+   * @return the number of bytes of the serialized spans
+   */
+  public int getSize() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return spanCount == 0;
+  }
+
+  /**
+   * Writes the serialized spans as they are to the given transport.
+   */
+  public void writeTo(TTransport transport) throws TException {
+    transport.write(bytes, 0, size);
+  }
+
+  /**
+   * Deserializes the buffered spans, for senders that only know how to send {@link Span} instances.
+   */
+  public List<Span> toThriftSpans(TProtocolFactory protocolFactory) throws TException {
+    TProtocol protocol = protocolFactory.getProtocol(
+        new TMemoryInputTransport(new TConfiguration(), bytes, 0, size));
+    List<Span> spans = new ArrayList<Span>(spanCount);
+    for (int i = 0; i < spanCount; i++) {
+      Span span = new Span();
+      span.read(protocol);
+      spans.add(span);
+    }
+    return spans;
+  }
+
+  /**
+   * Hands the serialized spans to the spill, see {@link SpillingSender.Spill#spill}.
+   */
+  boolean spillTo(SpillingSender.Spill spill) {
+    return spill.spill(bytes, 0, size, spanCount);
+  }
+
+  void add(byte[] span, int offset, int length) {
+    add(span, offset, length, 1);
+  }
+
+  /**
+   * Appends the given number of spans, serialized back to back.
+   */
+  void add(byte[] spans, int offset, int length, int count) {
+    if (size + length > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(size + length, Math.max(INITIAL_CAPACITY, bytes.length * 2)));
+    }
+    System.arraycopy(spans, offset, bytes, size, length);
+    size += length;
+    spanCount += count;
+  }
+
+  void clear() {
+    size = 0;
+    spanCount = 0;
+  }
+}
@@ -16,23 +16,35 @@ package io.jaegertracing.thrift.internal.senders;
 
 import io.jaegertracing.internal.JaegerSpan;
 import io.jaegertracing.internal.exceptions.SenderException;
-import io.jaegertracing.spi.Sender;
+import io.jaegertracing.spi.EncodingSender;
+import io.jaegertracing.spi.SpillingSender;
 import io.jaegertracing.thrift.internal.reporters.protocols.JaegerThriftSpanConverter;
 import io.jaegertracing.thrift.internal.reporters.protocols.ThriftUdpTransport;
 import io.jaegertracing.thriftjava.Process;
-import java.util.ArrayList;
 import java.util.List;
 import lombok.ToString;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TField;
+import org.apache.thrift.protocol.TList;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TStruct;
+import org.apache.thrift.protocol.TType;
 import org.apache.thrift.transport.TTransportException;
 
 @ToString
-public abstract class ThriftSender extends ThriftSenderBase implements Sender {
+public abstract class ThriftSender extends ThriftSenderBase implements SpillingSender, EncodingSender {
+  private static final TStruct BATCH_STRUCT = new TStruct("Batch");
+  private static final TField BATCH_PROCESS_FIELD = new TField("process", TType.STRUCT, (short) 1);
+  private static final TField BATCH_SPANS_FIELD = new TField("spans", TType.LIST, (short) 2);
 
-  private Process process;
+  // volatile: set by the first append or encode, the latter may run on any thread
+  private volatile Process process;
   private int processBytesSize;
   private int spanBytesSize;
 
-  @ToString.Exclude private List<io.jaegertracing.thriftjava.Span> spanBuffer;
+  @ToString.Exclude private final SerializedSpans spanBuffer;
+  @ToString.Exclude private final SerializedSpans replayBuffer;
+  @ToString.Exclude private Spill spill;
 
   /**
    * @param protocolType protocol type (compact or binary)
@@ -41,19 +53,84 @@ public abstract class ThriftSender extends ThriftSenderBase implements Sender {
   public ThriftSender(ProtocolType protocolType, int maxPacketSize) throws TTransportException {
     super(protocolType, maxPacketSize);
 
-    spanBuffer = new ArrayList<io.jaegertracing.thriftjava.Span>();
+    spanBuffer = new SerializedSpans();
+    replayBuffer = new SerializedSpans();
   }
 
+  /**
+   * Failed batches are spilled as the serialized spans, without the process, which is written again when they
+   * are replayed.
+   */
   @Override
-  public int append(JaegerSpan span) throws SenderException {
+  public void setSpill(Spill spill) {
+    this.spill = spill;
+  }
+
+  @Override
+  public int sendSpilled(byte[] batch, int offset, int length, int spanCount) throws SenderException {
     if (process == null) {
-      process = new Process(span.getTracer().getServiceName());
-      process.setTags(JaegerThriftSpanConverter.buildTags(span.getTracer().tags()));
-      processBytesSize = calculateProcessSize(process);
+      throw new SenderException("No span was appended yet, the process is unknown", null, spanCount);
     }
+    replayBuffer.add(batch, offset, length, spanCount);
+    try {
+      return send(process, replayBuffer);
+    } finally {
+      replayBuffer.clear();
+    }
+  }
+
+  @Override
+  public int append(JaegerSpan span) throws SenderException {
+    initProcess(span);
 
+    // the span is serialized only once: the bytes used to compute its size are copied into the batch buffer
     io.jaegertracing.thriftjava.Span thriftSpan = JaegerThriftSpanConverter.convertSpan(span);
-    int spanSize = calculateSpanSize(thriftSpan);
+    return append(null, calculateSpanSize(thriftSpan));
+  }
+
+  /**
+   * Converts and serializes the span with this sender's protocol, on the calling thread.
+   */
+  @Override
+  public byte[] encode(JaegerSpan span) throws SenderException {
+    initProcess(span);
+    try {
+      return encode(JaegerThriftSpanConverter.convertSpan(span));
+    } catch (Exception e) {
+      throw new SenderException("ThriftSender failed to encode Span.", e, 1);
+    }
+  }
+
+  @Override
+  public int appendEncoded(byte[] encodedSpan) throws SenderException {
+    if (process == null) {
+      throw new SenderException("The span was not encoded by this sender", null, 1);
+    }
+    return append(encodedSpan, getEncodedSize(encodedSpan.length));
+  }
+
+  private void initProcess(JaegerSpan span) throws SenderException {
+    if (process != null) {
+      return;
+    }
+    synchronized (this) {
+      if (process == null) {
+        Process newProcess = new Process(span.getTracer().getServiceName());
+        newProcess.setTags(JaegerThriftSpanConverter.buildTags(span.getTracer().tags()));
+        try {
+          processBytesSize = getEncodedSize(encode(newProcess).length);
+        } catch (Exception e) {
+          throw new SenderException("ThriftSender failed writing Process to memory buffer.", e, 1);
+        }
+        process = newProcess;
+      }
+    }
+  }
+
+  /**
+   * Buffers a serialized span, the encoded bytes or if null the span last serialized by {@link #getSize}.
+   */
+  private int append(byte[] encodedSpan, int spanSize) throws SenderException {
     if (spanSize > getMaxSpanBytes()) {
       throw new SenderException(String.format("ThriftSender received a span that was too large, size = %d, max = %d",
           spanSize, getMaxSpanBytes()), null, 1);
@@ -61,7 +138,7 @@ public abstract class ThriftSender extends ThriftSenderBase implements Sender {
 
     spanBytesSize += spanSize;
     if (spanBytesSize <= getMaxSpanBytes()) {
-      spanBuffer.add(thriftSpan);
+      bufferSpan(encodedSpan);
       if (spanBytesSize < getMaxSpanBytes()) {
         return 0;
       }
@@ -70,17 +147,26 @@ public abstract class ThriftSender extends ThriftSenderBase implements Sender {
 
     int n;
     try {
+      // does not touch the memory buffer which still holds the serialized span
       n = flush();
     } catch (SenderException e) {
       // +1 for the span not submitted in the buffer above
       throw new SenderException(e.getMessage(), e.getCause(), e.getDroppedSpanCount() + 1);
     }
 
-    spanBuffer.add(thriftSpan);
+    bufferSpan(encodedSpan);
     spanBytesSize = spanSize;
     return n;
   }
 
+  private void bufferSpan(byte[] encodedSpan) {
+    if (encodedSpan == null) {
+      copySerializedBytes(spanBuffer);
+    } else {
+      spanBuffer.add(encodedSpan, 0, encodedSpan.length);
+    }
+  }
+
   protected int calculateProcessSize(Process proc) throws SenderException {
     try {
       return getSize(proc);
@@ -103,22 +189,62 @@ public abstract class ThriftSender extends ThriftSenderBase implements Sender {
 
   public abstract void send(Process process, List<io.jaegertracing.thriftjava.Span> spans) throws SenderException;
 
+  /**
+   * Sends the spans buffered by {@link #append(JaegerSpan)}, which are already serialized with this sender's
+   * protocol. Senders should override this to write the batch with {@link #writeBatch(TProtocol, Process,
+   * SerializedSpans)}; the default implementation deserializes the spans and delegates to
+   * {@link #send(Process, List)}.
+   *
+   * @return the number of spans sent, 0 if they are sent asynchronously
+   */
+  protected int send(Process process, SerializedSpans spans) throws SenderException {
+    List<io.jaegertracing.thriftjava.Span> thriftSpans;
+    try {
+      thriftSpans = spans.toThriftSpans(protocolFactory);
+    } catch (TException e) {
+      throw new SenderException(String.format("Failed to deserialize %d spans", spans.getSpanCount()), e,
+          spans.getSpanCount());
+    }
+    send(process, thriftSpans);
+    return spans.getSpanCount();
+  }
+
+  /**
+   * Writes a {@link io.jaegertracing.thriftjava.Batch} made of the given process and the already serialized
+   * spans. The output is the same as {@code new Batch(process, spans).write(protocol)}.
+   */
+  protected void writeBatch(TProtocol protocol, Process process, SerializedSpans spans) throws TException {
+    protocol.writeStructBegin(BATCH_STRUCT);
+    protocol.writeFieldBegin(BATCH_PROCESS_FIELD);
+    process.write(protocol);
+    protocol.writeFieldEnd();
+    protocol.writeFieldBegin(BATCH_SPANS_FIELD);
+    protocol.writeListBegin(new TList(TType.STRUCT, spans.getSpanCount()));
+    spans.writeTo(protocol.getTransport());
+    protocol.writeListEnd();
+    protocol.writeFieldEnd();
+    protocol.writeFieldStop();
+    protocol.writeStructEnd();
+  }
+
   @Override
   public int flush() throws SenderException {
     if (spanBuffer.isEmpty()) {
       return 0;
     }
 
-    int n = spanBuffer.size();
+    int n = spanBuffer.getSpanCount();
     try {
-      send(process, spanBuffer);
+      return send(process, spanBuffer);
     } catch (SenderException e) {
+      if (spill != null && spanBuffer.spillTo(spill)) {
+        throw new SenderException("Failed to flush spans, they were spilled to be sent again later.", e, 0);
+      }
       throw new SenderException("Failed to flush spans.", e, n);
     } finally {
       spanBuffer.clear();
       spanBytesSize = 0;
     }
-    return n;
   }
 
   @Override
@@ -15,10 +15,12 @@
 package io.jaegertracing.thrift.internal.senders;
 
 import io.jaegertracing.thrift.internal.reporters.protocols.ThriftUdpTransport;
+import java.util.Arrays;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.thrift.TBase;
 import org.apache.thrift.TConfiguration;
+import org.apache.thrift.TException;
 import org.apache.thrift.TSerializer;
 import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.protocol.TCompactProtocol;
@@ -37,12 +39,30 @@ public abstract class ThriftSenderBase {
 
   public static final int EMIT_BATCH_OVERHEAD = 33;
 
+  // bytes reserved in front of the memory buffer, getSize() counts them which keeps the batch size estimate
+  // on the safe side of the packet size limit
+  private static final int MEMORY_BUFFER_FRONT_RESERVE = 2;
+  private static final int ENCODING_BUFFER_SIZE = 1024;
+
   protected final TProtocolFactory protocolFactory;
   private final TSerializer serializer;
   private final int maxBatchBytes;
 
   @ToString.Exclude private AutoExpandingBufferWriteTransport memoryTransport;
 
+  // per thread buffers for encode(), which may be called from any thread, of ENCODING_BUFFER_SIZE bytes
+  @ToString.Exclude private final ThreadLocal<AutoExpandingBufferWriteTransport> encodingTransport =
+      new ThreadLocal<AutoExpandingBufferWriteTransport>() {
+        @Override
+        protected AutoExpandingBufferWriteTransport initialValue() {
+          try {
+            return new AutoExpandingBufferWriteTransport(new TConfiguration(), ENCODING_BUFFER_SIZE, 0);
+          } catch (TTransportException e) {
+            throw new RuntimeException("Unable to initialise encoding buffer: " + e, e);
+          }
+        }
+      };
+
   /**
    * @param protocolType protocol type (compact or binary)
    * @param maxPacketSize if 0 it will use default value {@value ThriftUdpTransport#MAX_PACKET_SIZE}
@@ -66,7 +86,8 @@ public abstract class ThriftSenderBase {
     }
 
     maxBatchBytes = maxPacketSize - EMIT_BATCH_OVERHEAD;
-    memoryTransport = new AutoExpandingBufferWriteTransport(new TConfiguration(), maxPacketSize, 2);
+    memoryTransport = new AutoExpandingBufferWriteTransport(
+        new TConfiguration(), maxPacketSize, MEMORY_BUFFER_FRONT_RESERVE);
     serializer = new TSerializer(protocolFactory);
   }
 
@@ -78,10 +99,46 @@ public abstract class ThriftSenderBase {
     return serializer.serialize(thriftBase);
   }
 
+  /**
+   * Serializes the given object into an internal memory buffer and returns its size. Until the next call, the
+   * serialized bytes can be copied with {@link #copySerializedBytes(SerializedSpans)}.
+   */
   public int getSize(TBase<?,?> thriftBase) throws Exception {
     memoryTransport.reset();
     thriftBase.write(protocolFactory.getProtocol(memoryTransport));
     return memoryTransport.getLength();
   }
 
+  /**
+   * Serializes the given object into a new array. Unlike {@link #getSize(TBase)} and {@link #serialize(TBase)}
+   * this may be called from any thread.
+   */
+  protected byte[] encode(TBase<?,?> thriftBase) throws TException {
+    AutoExpandingBufferWriteTransport transport = encodingTransport.get();
+    transport.reset();
+    thriftBase.write(protocolFactory.getProtocol(transport));
+    byte[] encoded = Arrays.copyOf(transport.getBuf().array(), transport.getLength());
+    // every thread finishing spans holds a buffer, one grown by a large span is not kept
+    if (transport.getBuf().array().length > ENCODING_BUFFER_SIZE) {
+      encodingTransport.remove();
+    }
+    return encoded;
+  }
+
+  /**
+   * @return the size {@link #getSize(TBase)} returns for an object that {@link #encode(TBase)} encoded into the
+   *     given number of bytes
+   */
+  protected int getEncodedSize(int encodedLength) {
+    return encodedLength + MEMORY_BUFFER_FRONT_RESERVE;
+  }
+
+  /**
+   * Appends the span last serialized by {@link #getSize(TBase)} to the given buffer.
+   */
+  protected void copySerializedBytes(SerializedSpans spans) {
+    spans.add(memoryTransport.getBuf().array(), MEMORY_BUFFER_FRONT_RESERVE,
+        memoryTransport.getLength() - MEMORY_BUFFER_FRONT_RESERVE);
+  }
+
 }
@@ -27,6 +27,13 @@ public class ThriftSenderFactory implements SenderFactory {
         httpSenderBuilder.withAuth(conf.getAuthToken());
       }
 
+      String compression = conf.getEndpointCompression();
+      if ("gzip".equalsIgnoreCase(compression)) {
+        httpSenderBuilder.withGzipCompression();
+      } else if (null != compression && !compression.isEmpty()) {
+        log.warn("Unsupported endpoint compression '{}', sending uncompressed batches.", compression);
+      }
+
       log.debug("Using the HTTP Sender to send spans directly to the endpoint.");
       try {
         return httpSenderBuilder.build();
@@ -16,11 +16,18 @@ package io.jaegertracing.thrift.internal.senders;
 
 import io.jaegertracing.agent.thrift.Agent;
 import io.jaegertracing.internal.exceptions.SenderException;
+import io.jaegertracing.thrift.internal.reporters.protocols.ThriftUdpChannelTransport;
 import io.jaegertracing.thrift.internal.reporters.protocols.ThriftUdpTransport;
 import io.jaegertracing.thriftjava.Batch;
 import io.jaegertracing.thriftjava.Process;
 import java.util.List;
 import lombok.ToString;
+import org.apache.thrift.protocol.TField;
+import org.apache.thrift.protocol.TMessage;
+import org.apache.thrift.protocol.TMessageType;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TStruct;
+import org.apache.thrift.protocol.TType;
 import org.apache.thrift.transport.TTransportException;
 
 @ToString
@@ -28,11 +35,17 @@ public class UdpSender extends ThriftSender {
   public static final String DEFAULT_AGENT_UDP_HOST = "localhost";
   public static final int DEFAULT_AGENT_UDP_COMPACT_PORT = 6831;
 
+  // the envelope Agent.Client#emitBatch writes around the batch
+  private static final String EMIT_BATCH_METHOD = "emitBatch";
+  private static final TStruct EMIT_BATCH_ARGS_STRUCT = new TStruct("emitBatch_args");
+  private static final TField EMIT_BATCH_BATCH_FIELD = new TField("batch", TType.STRUCT, (short) 1);
+
   private final String host;
   private final int port;
 
   @ToString.Exclude private volatile Agent.Client agentClient;
-  @ToString.Exclude private volatile ThriftUdpTransport udpTransport;
+  @ToString.Exclude private volatile ThriftUdpChannelTransport udpTransport;
+  @ToString.Exclude private int seqId;
 
   /**
    * This constructor expects Jaeger running running on {@value #DEFAULT_AGENT_UDP_HOST}
@@ -68,7 +81,7 @@ public class UdpSender extends ThriftSender {
       synchronized (this) {
         localRef = this.agentClient;
         if (localRef == null) {
-          udpTransport = ThriftUdpTransport.newThriftUdpClient(host, port);
+          udpTransport = ThriftUdpChannelTransport.newThriftUdpClient(host, port);
           localRef = new Agent.Client(protocolFactory.getProtocol(udpTransport));
           this.agentClient = localRef;
         }
@@ -87,6 +100,26 @@ public class UdpSender extends ThriftSender {
     }
   }
 
+  @Override
+  protected int send(Process process, SerializedSpans spans) throws SenderException {
+    try {
+      TProtocol protocol = getAgentClient().getOutputProtocol();
+      protocol.writeMessageBegin(new TMessage(EMIT_BATCH_METHOD, TMessageType.ONEWAY, ++seqId));
+      protocol.writeStructBegin(EMIT_BATCH_ARGS_STRUCT);
+      protocol.writeFieldBegin(EMIT_BATCH_BATCH_FIELD);
+      writeBatch(protocol, process, spans);
+      protocol.writeFieldEnd();
+      protocol.writeFieldStop();
+      protocol.writeStructEnd();
+      protocol.writeMessageEnd();
+      protocol.getTransport().flush();
+      return spans.getSpanCount();
+    } catch (Exception e) {
+      throw new SenderException(String.format("Could not send %d spans", spans.getSpanCount()), e,
+          spans.getSpanCount());
+    }
+  }
+
   @Override
   public int close() throws SenderException {
     try {
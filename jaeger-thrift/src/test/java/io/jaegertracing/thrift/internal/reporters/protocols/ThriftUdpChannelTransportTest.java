@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.thrift.internal.reporters.protocols;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.Arrays;
+import org.apache.thrift.transport.TTransportException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ThriftUdpChannelTransportTest {
+  private DatagramSocket server;
+  private ThriftUdpChannelTransport transport;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new DatagramSocket(0, InetAddress.getByName("localhost"));
+    server.setSoTimeout(5000);
+    transport = ThriftUdpChannelTransport.newThriftUdpClient("localhost", server.getLocalPort());
+  }
+
+  @After
+  public void tearDown() {
+    transport.close();
+    server.close();
+  }
+
+  @Test
+  public void testSendsOnePacketPerFlush() throws Exception {
+    transport.write(new byte[] {1, 2, 3}, 0, 3);
+    transport.write(new byte[] {9, 4, 5, 9}, 1, 2);
+    transport.flush();
+    assertArrayEquals(new byte[] {1, 2, 3, 4, 5}, receive());
+
+    // the buffer is reused for the next packet
+    transport.write(new byte[] {6}, 0, 1);
+    transport.flush();
+    assertArrayEquals(new byte[] {6}, receive());
+  }
+
+  @Test
+  public void testFlushEmptyBuffer() throws Exception {
+    transport.flush();
+    transport.write(new byte[] {7}, 0, 1);
+    transport.flush();
+    assertArrayEquals(new byte[] {7}, receive());
+  }
+
+  @Test
+  public void testMessageTooLargeIsDropped() throws Exception {
+    byte[] bytes = new byte[ThriftUdpTransport.MAX_PACKET_SIZE];
+    transport.write(bytes, 0, bytes.length - 1);
+    try {
+      transport.write(bytes, 0, 2);
+      fail();
+    } catch (TTransportException e) {
+      assertTrue(e.getMessage().startsWith("Message size too large"));
+    }
+
+    transport.write(new byte[] {8}, 0, 1);
+    transport.flush();
+    assertArrayEquals(new byte[] {8}, receive());
+  }
+
+  @Test
+  public void testClosed() throws Exception {
+    assertTrue(transport.isOpen());
+    transport.close();
+    assertFalse(transport.isOpen());
+    try {
+      transport.write(new byte[] {1}, 0, 1);
+      fail();
+    } catch (TTransportException e) {
+      // expected
+    }
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testUnresolvedHost() throws Exception {
+    ThriftUdpChannelTransport.newThriftUdpClient("agent.acme.test", 55555);
+  }
+
+  private byte[] receive() throws Exception {
+    byte[] buffer = new byte[ThriftUdpTransport.MAX_PACKET_SIZE];
+    DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+    server.receive(packet);
+    return Arrays.copyOf(buffer, packet.getLength());
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, The Jaeger Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jaegertracing.thrift.internal.senders;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import org.junit.After;
+import org.junit.Test;
+
+public class GzipCompressorTest {
+  private final GzipCompressor compressor = new GzipCompressor(16);
+
+  @After
+  public void tearDown() {
+    compressor.close();
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      text.append("operation-name span.kind=server ");
+    }
+    byte[] input = text.toString().getBytes(StandardCharsets.UTF_8);
+
+    compressor.compress(input, 0, input.length);
+    assertTrue(compressor.getLength() < input.length / 10);
+    assertArrayEquals(input, decompress());
+  }
+
+  @Test
+  public void testReuse() throws Exception {
+    byte[] random = new byte[50000];
+    new Random(42).nextBytes(random);
+    compressor.compress(random, 0, random.length);
+    assertArrayEquals(random, decompress());
+
+    byte[] input = "xxhello".getBytes(StandardCharsets.UTF_8);
+    compressor.compress(input, 2, 5);
+    assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), decompress());
+
+    compressor.compress(new byte[0], 0, 0);
+    assertArrayEquals(new byte[0], decompress());
+  }
+
+  private byte[] decompress() throws IOException {
+    GZIPInputStream in = new GZIPInputStream(
+        new ByteArrayInputStream(compressor.getBuffer(), 0, compressor.getLength()));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
+}
@@ -14,17 +14,29 @@
 
 package io.jaegertracing.thrift.internal.senders;
 
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import io.jaegertracing.Configuration;
+import io.jaegertracing.internal.JaegerTracer;
 import io.jaegertracing.internal.exceptions.SenderException;
+import io.jaegertracing.internal.reporters.InMemoryReporter;
+import io.jaegertracing.spi.AsyncSender;
+import io.jaegertracing.thriftjava.Batch;
 import io.jaegertracing.thriftjava.Process;
 import io.jaegertracing.thriftjava.Span;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -32,6 +44,8 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.Response;
 import okhttp3.OkHttpClient;
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.protocol.TBinaryProtocol;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.test.JerseyTest;
 import org.junit.Before;
@@ -139,6 +153,109 @@ public class HttpSenderTest extends JerseyTest {
     }
   }
 
+  @Test
+  public void sendAsyncReportsSuccess() throws Exception {
+    HttpSender sender = new HttpSender.Builder(target("/api/traces").getUri().toString())
+        .withAsyncSend(2)
+        .build();
+    RecordingCallback callback = new RecordingCallback();
+    sender.setCallback(callback);
+
+    JaegerTracer tracer = new JaegerTracer.Builder("async").withReporter(new InMemoryReporter()).build();
+    for (int i = 0; i < 5; i++) {
+      sender.append(tracer.buildSpan("span-" + i).start());
+      assertEquals(0, sender.flush());
+    }
+
+    await().atMost(5, TimeUnit.SECONDS).until(() -> callback.succeeded.get() == 5);
+    assertEquals(0, callback.failed.get());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void asyncSendDoesNotSpill() throws Exception {
+    HttpSender sender = new HttpSender.Builder(target("/api/traces").getUri().toString())
+        .withAsyncSend(2)
+        .build();
+    sender.setSpill((batch, offset, length, spanCount) -> true);
+  }
+
+  @Test
+  public void sendAsyncReportsFailure() throws Exception {
+    HttpSender sender = new HttpSender.Builder(target("/api/tracesErr").getUri().toString())
+        .withAsyncSend(1)
+        .build();
+    RecordingCallback callback = new RecordingCallback();
+    sender.setCallback(callback);
+
+    JaegerTracer tracer = new JaegerTracer.Builder("async").withReporter(new InMemoryReporter()).build();
+    sender.append(tracer.buildSpan("first").start());
+    sender.append(tracer.buildSpan("second").start());
+    assertEquals(0, sender.flush());
+
+    await().atMost(5, TimeUnit.SECONDS).until(() -> callback.failed.get() == 2);
+    assertEquals(0, callback.succeeded.get());
+  }
+
+  @Test
+  public void closeAwaitsAsyncSends() throws Exception {
+    HttpSender sender = new HttpSender.Builder(target("/api/traces").getUri().toString())
+        .withAsyncSend(4)
+        .build();
+    RecordingCallback callback = new RecordingCallback();
+    sender.setCallback(callback);
+
+    JaegerTracer tracer = new JaegerTracer.Builder("async").withReporter(new InMemoryReporter()).build();
+    sender.append(tracer.buildSpan("span").start());
+    assertEquals(0, sender.close());
+    assertEquals(1, callback.succeeded.get());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void asyncSendRequiresPositiveLimit() throws Exception {
+    new HttpSender.Builder(target("/api/traces").getUri().toString()).withAsyncSend(0);
+  }
+
+  @Test
+  public void sendGzipCompressed() throws Exception {
+    HttpSender sender = new HttpSender.Builder(target("/api/gzip").getUri().toString())
+        .withGzipCompression()
+        .build();
+    JaegerTracer tracer = new JaegerTracer.Builder("gzip").withReporter(new InMemoryReporter()).build();
+    for (int i = 0; i < 3; i++) {
+      sender.append(tracer.buildSpan("span-" + i).withTag("key", "value").start());
+    }
+    assertEquals(3, sender.flush());
+    assertEquals(3, TraceAccepter.gzipSpans.get());
+
+    sender.send(new Process("robotrock"), generateSpans());
+    assertEquals(4, TraceAccepter.gzipSpans.get());
+    sender.close();
+  }
+
+  @Test(expected = SenderException.class)
+  public void sendGzipCompressedAfterCloseFails() throws Exception {
+    HttpSender sender = new HttpSender.Builder(target("/api/gzip").getUri().toString())
+        .withGzipCompression()
+        .build();
+    sender.close();
+    sender.send(new Process("robotrock"), generateSpans());
+  }
+
+  private static class RecordingCallback implements AsyncSender.Callback {
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    @Override
+    public void onSuccess(int spanCount) {
+      succeeded.addAndGet(spanCount);
+    }
+
+    @Override
+    public void onFailure(SenderException e) {
+      failed.addAndGet(e.getDroppedSpanCount());
+    }
+  }
+
   private List<Span> generateSpans() {
     ArrayList<Span> spans = new ArrayList<>();
     Span span = new Span();
@@ -149,6 +266,28 @@ public class HttpSenderTest extends JerseyTest {
 
   @Path("api")
   public static class TraceAccepter {
+    private static final AtomicInteger gzipSpans = new AtomicInteger();
+
+    @Path("gzip")
+    @POST
+    public Response gzip(@HeaderParam("Content-Encoding") String encoding, byte[] data) throws Exception {
+      if (!"gzip".equals(encoding)) {
+        return Response.status(Response.Status.BAD_REQUEST).build();
+      }
+
+      ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+      try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+          decompressed.write(buffer, 0, read);
+        }
+      }
+      Batch batch = new Batch();
+      new TDeserializer(new TBinaryProtocol.Factory()).deserialize(batch, decompressed.toByteArray());
+      gzipSpans.addAndGet(batch.getSpansSize());
+      return Response.ok().build();
+    }
 
     @Path("basic-auth")
     @POST
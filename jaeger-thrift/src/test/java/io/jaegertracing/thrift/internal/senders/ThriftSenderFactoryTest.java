@@ -14,6 +14,7 @@
 
 package io.jaegertracing.thrift.internal.senders;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import io.jaegertracing.Configuration;
@@ -29,6 +30,7 @@ public class ThriftSenderFactoryTest {
     System.clearProperty(Configuration.JAEGER_AUTH_TOKEN);
     System.clearProperty(Configuration.JAEGER_USER);
     System.clearProperty(Configuration.JAEGER_PASSWORD);
+    System.clearProperty(Configuration.JAEGER_ENDPOINT_COMPRESSION);
 
     System.clearProperty(Configuration.JAEGER_AGENT_HOST);
     System.clearProperty(Configuration.JAEGER_AGENT_PORT);
@@ -41,6 +43,22 @@ public class ThriftSenderFactoryTest {
     assertTrue(sender instanceof HttpSender);
   }
 
+  @Test
+  public void testSenderWithGzipCompressionFromEnv() {
+    System.setProperty(Configuration.JAEGER_ENDPOINT, "https://jaeger-collector:14268/api/traces");
+    System.setProperty(Configuration.JAEGER_ENDPOINT_COMPRESSION, "gzip");
+    Sender sender = Configuration.SenderConfiguration.fromEnv().getSender();
+    assertTrue(((HttpSender) sender).isGzipCompression());
+  }
+
+  @Test
+  public void testSenderWithUnsupportedCompression() {
+    Configuration.SenderConfiguration senderConfiguration = new Configuration.SenderConfiguration()
+        .withEndpoint("https://jaeger-collector:14268/api/traces")
+        .withEndpointCompression("lz4");
+    assertFalse(((HttpSender) senderConfiguration.getSender()).isGzipCompression());
+  }
+
   @Test
   public void testSenderWithAgentDataFromEnv() {
     System.setProperty(Configuration.JAEGER_AGENT_HOST, "jaeger-agent");
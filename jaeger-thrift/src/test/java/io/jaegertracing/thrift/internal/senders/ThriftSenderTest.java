@@ -14,12 +14,25 @@
 
 package io.jaegertracing.thrift.internal.senders;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import io.jaegertracing.internal.JaegerSpan;
 import io.jaegertracing.internal.JaegerTracer;
 import io.jaegertracing.internal.exceptions.SenderException;
+import io.jaegertracing.spi.SpillingSender;
+import io.jaegertracing.thrift.internal.reporters.protocols.JaegerThriftSpanConverter;
 import io.jaegertracing.thrift.internal.senders.ThriftSenderBase.ProtocolType;
+import io.jaegertracing.thriftjava.Batch;
 import io.jaegertracing.thriftjava.Process;
 import io.jaegertracing.thriftjava.Span;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.thrift.TConfiguration;
+import org.apache.thrift.transport.AutoExpandingBufferWriteTransport;
 import org.junit.Test;
 
 /**
@@ -78,4 +91,159 @@ public class ThriftSenderTest {
     sender.flush();
   }
 
+  @Test
+  public void failedBatchIsSpilledAndReplayed() throws Exception {
+    final AtomicBoolean failing = new AtomicBoolean(true);
+    final List<Span> sent = new ArrayList<Span>();
+    ThriftSender sender = new ThriftSender(ProtocolType.Compact, 0) {
+      @Override
+      public void send(Process process, List<Span> spans) throws SenderException {
+        if (failing.get()) {
+          throw new SenderException("", null, spans.size());
+        }
+        sent.addAll(spans);
+      }
+    };
+    final List<byte[]> spilled = new ArrayList<byte[]>();
+    sender.setSpill(new SpillingSender.Spill() {
+      @Override
+      public boolean spill(byte[] batch, int offset, int length, int spanCount) {
+        assertEquals(2, spanCount);
+        spilled.add(Arrays.copyOfRange(batch, offset, offset + length));
+        return true;
+      }
+    });
+
+    JaegerTracer tracer = new JaegerTracer.Builder("spill").build();
+    JaegerSpan first = tracer.buildSpan("first").withTag("foo", "bar").start();
+    JaegerSpan second = tracer.buildSpan("second").start();
+    sender.append(first);
+    sender.append(second);
+    try {
+      sender.flush();
+      fail();
+    } catch (SenderException e) {
+      // spilled spans are not dropped
+      assertEquals(0, e.getDroppedSpanCount());
+    }
+    assertEquals(1, spilled.size());
+
+    failing.set(false);
+    // the replayed batch does not interfere with spans appended meanwhile
+    JaegerSpan third = tracer.buildSpan("third").start();
+    sender.append(third);
+    byte[] batch = spilled.get(0);
+    assertEquals(2, sender.sendSpilled(batch, 0, batch.length, 2));
+    assertEquals(1, sender.flush());
+
+    assertEquals(Arrays.asList(JaegerThriftSpanConverter.convertSpan(first),
+        JaegerThriftSpanConverter.convertSpan(second), JaegerThriftSpanConverter.convertSpan(third)), sent);
+  }
+
+  @Test
+  public void encodedSpansAreSentLikeAppendedSpans() throws Exception {
+    final List<Span> sent = new ArrayList<Span>();
+    ThriftSender sender = new ThriftSender(ProtocolType.Compact, 0) {
+      @Override
+      public void send(Process process, List<Span> spans) throws SenderException {
+        sent.addAll(spans);
+      }
+    };
+
+    JaegerTracer tracer = new JaegerTracer.Builder("encoding").build();
+    JaegerSpan first = tracer.buildSpan("first").withTag("foo", "bar").start();
+    JaegerSpan second = tracer.buildSpan("second").start();
+    assertEquals(0, sender.appendEncoded(sender.encode(first)));
+    sender.append(second);
+    assertEquals(2, sender.flush());
+
+    assertEquals(Arrays.asList(JaegerThriftSpanConverter.convertSpan(first),
+        JaegerThriftSpanConverter.convertSpan(second)), sent);
+  }
+
+  @Test(expected = SenderException.class)
+  public void appendEncodedWithoutProcessFails() throws Exception {
+    ThriftSender sender = new ThriftSender(ProtocolType.Compact, 0) {
+      @Override
+      public void send(Process process, List<Span> spans) throws SenderException {
+      }
+    };
+
+    sender.appendEncoded(new byte[] {0});
+  }
+
+  @Test
+  public void sendDeserializesSpansForSubclasses() throws Exception {
+    final List<Span> sent = new ArrayList<Span>();
+    ThriftSender sender = new ThriftSender(ProtocolType.Compact, 0) {
+      @Override
+      public void send(Process process, List<Span> spans) throws SenderException {
+        sent.addAll(spans);
+      }
+    };
+
+    JaegerTracer tracer = new JaegerTracer.Builder("fallback").build();
+    JaegerSpan first = tracer.buildSpan("first").withTag("foo", "bar").start();
+    JaegerSpan second = tracer.buildSpan("second").start();
+    sender.append(first);
+    sender.append(second);
+    assertEquals(2, sender.flush());
+
+    assertEquals(2, sent.size());
+    assertEquals(JaegerThriftSpanConverter.convertSpan(first), sent.get(0));
+    assertEquals(JaegerThriftSpanConverter.convertSpan(second), sent.get(1));
+  }
+
+  @Test
+  public void writeBatchCompact() throws Exception {
+    assertWriteBatchMatchesBatch(ProtocolType.Compact);
+  }
+
+  @Test
+  public void writeBatchBinary() throws Exception {
+    assertWriteBatchMatchesBatch(ProtocolType.Binary);
+  }
+
+  private void assertWriteBatchMatchesBatch(ProtocolType protocolType) throws Exception {
+    final List<byte[]> written = new ArrayList<byte[]>();
+    final List<byte[]> expected = new ArrayList<byte[]>();
+    ThriftSender sender = new ThriftSender(protocolType, 0) {
+      @Override
+      public void send(Process process, List<Span> spans) throws SenderException {
+      }
+
+      @Override
+      protected int send(Process process, SerializedSpans spans) throws SenderException {
+        try {
+          written.add(write(this, process, spans, null));
+          expected.add(write(this, process, null, spans.toThriftSpans(protocolFactory)));
+        } catch (Exception e) {
+          throw new SenderException("", e, spans.getSpanCount());
+        }
+        return spans.getSpanCount();
+      }
+    };
+
+    JaegerTracer tracer = new JaegerTracer.Builder("batch").withTag("tracer", "tag").build();
+    for (int i = 0; i < 3; i++) {
+      sender.append(tracer.buildSpan("span-" + i).withTag("index", i).start());
+    }
+    sender.flush();
+
+    assertEquals(1, written.size());
+    assertArrayEquals(expected.get(0), written.get(0));
+  }
+
+  private static byte[] write(ThriftSender sender, Process process, SerializedSpans serialized, List<Span> spans)
+      throws Exception {
+    AutoExpandingBufferWriteTransport transport = new AutoExpandingBufferWriteTransport(new TConfiguration(), 256, 0);
+    if (serialized != null) {
+      sender.writeBatch(sender.protocolFactory.getProtocol(transport), process, serialized);
+    } else {
+      new Batch(process, spans).write(sender.protocolFactory.getProtocol(transport));
+    }
+    byte[] bytes = new byte[transport.getLength()];
+    System.arraycopy(transport.getBuf().array(), 0, bytes, 0, bytes.length);
+    return bytes;
+  }
 }